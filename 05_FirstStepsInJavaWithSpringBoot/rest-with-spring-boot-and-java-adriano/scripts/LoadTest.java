@@ -0,0 +1,98 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Gerador de carga simples (JDK 21, sem dependências): N clientes concorrentes fazendo GET /person paginado
+// durante D segundos. Uso: java scripts/LoadTest.java <baseUrl> <clientes> <segundos> [rótulo]
+public class LoadTest {
+
+	private static final int SEED_ROWS = 5000;
+
+	public static void main(String[] args) throws Exception {
+		String baseUrl = args[0];
+		int clients = Integer.parseInt(args[1]);
+		int seconds = Integer.parseInt(args[2]);
+		String label = args.length > 3 ? args[3] : baseUrl;
+
+		HttpClient http = HttpClient.newBuilder()
+				.executor(Executors.newVirtualThreadPerTaskExecutor())
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+		seed(http, baseUrl);
+
+		long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+		AtomicLong errors = new AtomicLong();
+		List<List<Long>> latencies = Collections.synchronizedList(new ArrayList<>());
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int c = 0; c < clients; c++) {
+				executor.submit(() -> {
+					List<Long> local = new ArrayList<>();
+					latencies.add(local);
+					while (System.nanoTime() < deadline) {
+						long after = ThreadLocalRandom.current().nextLong(SEED_ROWS);
+						HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/person?limit=20&after=" + after))
+								.timeout(Duration.ofSeconds(30))
+								.build();
+						long start = System.nanoTime();
+						try {
+							HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+							if (response.statusCode() != 200) {
+								errors.incrementAndGet();
+							}
+						} catch (Exception e) {
+							errors.incrementAndGet();
+						}
+						local.add(System.nanoTime() - start);
+					}
+					return null;
+				});
+			}
+		}
+
+		List<Long> all = new ArrayList<>();
+		latencies.forEach(all::addAll);
+		Collections.sort(all);
+		System.out.printf("%-20s requests=%d errors=%d throughput=%.0f req/s p50=%.1fms p99=%.1fms p99.9=%.1fms max=%.1fms%n",
+				label, all.size(), errors.get(), all.size() / (double) seconds,
+				percentile(all, 50), percentile(all, 99), percentile(all, 99.9), percentile(all, 100));
+	}
+
+	private static double percentile(List<Long> sorted, double p) {
+		if (sorted.isEmpty()) {
+			return 0;
+		}
+		int index = (int) Math.ceil(p / 100.0 * sorted.size()) - 1;
+		return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1))) / 1_000_000.0;
+	}
+
+	// Garante uma massa mínima de dados usando o POST /person/batch
+	private static void seed(HttpClient http, String baseUrl) throws Exception {
+		HttpResponse<String> existing = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/person?limit=1&after=" + (SEED_ROWS - 1))).build(),
+				HttpResponse.BodyHandlers.ofString());
+		if (!"[]".equals(existing.body())) {
+			return;
+		}
+		StringBuilder body = new StringBuilder("[");
+		for (int i = 0; i < SEED_ROWS; i++) {
+			body.append(i == 0 ? "" : ",")
+				.append("{\"firstName\":\"Load\",\"lastName\":\"Test ").append(i)
+				.append("\",\"address\":\"Rua ").append(i)
+				.append("\",\"gender\":\"Male\",\"email\":\"loadtest").append(System.nanoTime()).append(i).append("@teste.com\"}");
+		}
+		body.append("]");
+		http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/person/batch"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+				.build(), HttpResponse.BodyHandlers.discarding());
+	}
+}
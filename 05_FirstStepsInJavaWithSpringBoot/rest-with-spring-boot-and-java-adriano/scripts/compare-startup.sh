@@ -0,0 +1,55 @@
+#!/usr/bin/env bash
+# Compara o tempo até a primeira resposta (/actuator/health) em três modos da mesma build:
+#   cold    -> jar extraído, só com o CDS padrão do JDK
+#   cds     -> jar extraído com o arquivo AppCDS do profile "cds" (target/application/application.jsa)
+#   restore -> restore de um checkpoint CRaC tirado logo depois do refresh (só com uma JVM com CRaC, como Azul Zulu CRaC)
+# Requer o PostgreSQL do application.properties. Uso: RUNS=5 scripts/compare-startup.sh
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-8080}
+APP=target/application
+JAR=$APP/rest-with-spring-boot-and-java-adriano-0.0.1-SNAPSHOT.jar
+CHECKPOINT=target/crac
+
+[ -f "$APP/application.jsa" ] || sh mvnw -q -P cds -DskipTests package
+
+now_ms() {
+	echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Sobe com os argumentos dados, espera a primeira resposta e imprime o tempo e o RSS
+measure() {
+	local mode=$1
+	shift
+	local start
+	start=$(now_ms)
+	"$@" > "target/startup-$mode.log" 2>&1 &
+	local pid=$!
+	until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do
+		kill -0 "$pid" 2> /dev/null || { echo "$mode: processo terminou, ver target/startup-$mode.log"; return 1; }
+		sleep 0.01
+	done
+	local elapsed=$(( $(now_ms) - start ))
+	echo "$mode: ${elapsed} ms até a primeira resposta, RSS $(( $(awk '/VmRSS/ { print $2 }' "/proc/$pid/status") / 1024 )) MB"
+	kill "$pid"
+	wait "$pid" || true
+}
+
+for i in $(seq "$RUNS"); do
+	measure cold java -jar "$JAR" --server.port="$PORT"
+	measure cds java -XX:SharedArchiveFile="$APP/application.jsa" -jar "$JAR" --server.port="$PORT"
+done
+
+if ! java -XX:CRaCCheckpointTo=target/crac-probe -version > /dev/null 2>&1; then
+	echo "restore: esta JVM não tem CRaC, medição ignorada"
+	exit 0
+fi
+rm -rf "$CHECKPOINT"
+# O processo termina sozinho depois do checkpoint
+java -XX:CRaCCheckpointTo="$CHECKPOINT" -Dspring.context.checkpoint=onRefresh -jar "$JAR" --server.port="$PORT" \
+	> target/startup-checkpoint.log 2>&1 || true
+for i in $(seq "$RUNS"); do
+	measure restore java -XX:CRaCRestoreFrom="$CHECKPOINT"
+done
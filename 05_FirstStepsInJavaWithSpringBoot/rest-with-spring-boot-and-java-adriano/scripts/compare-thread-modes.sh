@@ -0,0 +1,32 @@
+#!/usr/bin/env bash
+# Compara o modo padrão (workers de plataforma do Tomcat) com o modo virtual-threads sob a mesma carga.
+# Os dois modos usam o mesmo tamanho de pool do Hikari, então a diferença medida é só o modelo de threads.
+# Rate limit e limite de concorrência ficam desligados: os clientes saem todos do mesmo IP, e as respostas 429/503
+# entrariam nos percentis no lugar da latência das requisições atendidas.
+# Requer o PostgreSQL do application.properties. Uso: CLIENTS=800 DURATION=30 scripts/compare-thread-modes.sh
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+CLIENTS=${CLIENTS:-800}
+DURATION=${DURATION:-30}
+PORT=${PORT:-8080}
+JAR=target/rest-with-spring-boot-and-java-adriano-0.0.1-SNAPSHOT.jar
+
+[ -f "$JAR" ] || sh mvnw -q -DskipTests package
+
+run_mode() {
+	local profile=$1
+	java -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$profile" \
+		--spring.datasource.hikari.maximum-pool-size=20 \
+		--person.rate-limit.enabled=false --person.concurrency-limit.enabled=false > "target/loadtest-$profile.log" 2>&1 &
+	local pid=$!
+	until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do sleep 1; done
+	# Aquecimento curto antes da medição
+	java scripts/LoadTest.java "http://localhost:$PORT" 50 5 warmup > /dev/null
+	java scripts/LoadTest.java "http://localhost:$PORT" "$CLIENTS" "$DURATION" "$profile"
+	kill "$pid"
+	wait "$pid" || true
+}
+
+run_mode default
+run_mode virtual-threads
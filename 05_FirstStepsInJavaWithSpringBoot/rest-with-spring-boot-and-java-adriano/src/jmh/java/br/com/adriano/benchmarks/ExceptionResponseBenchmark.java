@@ -0,0 +1,110 @@
+package br.com.adriano.benchmarks;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.adriano.exceptions.ResourceNotFoundException;
+
+// Caminho completo de um 404: exceção lançada "depth" frames abaixo de quem a trata, corpo do erro e JSON.
+// Um request real lança a exceção com mais de 100 frames do Tomcat, dos filtros, do Spring MVC e dos proxies na pilha
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionResponseBenchmark {
+
+	private static final String MESSAGE = "No records found for this ID for find";
+	
+	@Param({ "16", "128" })
+	private int depth;
+	
+	private ObjectMapper mapper;
+	
+	@Setup
+	public void setUp() {
+		// O mesmo builder do Spring Boot, que registra o mixin de serialização do ProblemDetail
+		mapper = Jackson2ObjectMapperBuilder.json().build();
+	}
+	
+	// Como era antes: RuntimeException com stack trace e ExceptionResponse com Date e "uri=..."
+	@Benchmark
+	public byte[] stackTraceAndExceptionResponse() throws JsonProcessingException {
+		RuntimeException ex = throwAt(depth, () -> new RuntimeException(MESSAGE));
+		return mapper.writeValueAsBytes(new ExceptionResponse(new Date(), ex.getMessage(), "uri=/person/1"));
+	}
+	
+	@Benchmark
+	public byte[] stacklessAndProblemDetail() throws JsonProcessingException {
+		RuntimeException ex = throwAt(depth, () -> new ResourceNotFoundException(MESSAGE));
+		return mapper.writeValueAsBytes(ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage()));
+	}
+	
+	// Como é agora: a instância compartilhada, sem alocar exceção nenhuma
+	@Benchmark
+	public byte[] preallocatedAndProblemDetail() throws JsonProcessingException {
+		RuntimeException ex = throwAt(depth, () -> ResourceNotFoundException.FIND);
+		return mapper.writeValueAsBytes(ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage()));
+	}
+	
+	private static RuntimeException throwAt(int depth, Supplier<RuntimeException> exception) {
+		try {
+			descend(depth, exception);
+			return null;
+		} catch (RuntimeException ex) {
+			return ex;
+		}
+	}
+	
+	private static void descend(int depth, Supplier<RuntimeException> exception) {
+		if (depth == 0) {
+			throw exception.get();
+		}
+		descend(depth - 1, exception);
+	}
+	
+	// Corpo de erro usado pelo CustomizedResponseEntityExceptionHandler antes do ProblemDetail
+	public static class ExceptionResponse {
+		private final Date timestamp;
+		private final String message;
+		private final String details;
+		
+		public ExceptionResponse(Date timestamp, String message, String details) {
+			this.timestamp = timestamp;
+			this.message = message;
+			this.details = details;
+		}
+		
+		public Date getTimestamp() {
+			return timestamp;
+		}
+		
+		public String getMessage() {
+			return message;
+		}
+		
+		public String getDetails() {
+			return details;
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package br.com.adriano.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.adriano.models.Person;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersonEqualsHashCodeBenchmark {
+
+	private Person person;
+	private Person samePerson;
+	private Person otherPerson;
+	
+	@Setup
+	public void setUp() {
+		person = new Person(1L, "Fulano", "da Silva", "Patos - Paraiba - Brasil", "Male", "fulano@gmail.com");
+		samePerson = new Person(1L, "Fulano", "da Silva", "Patos - Paraiba - Brasil", "Male", "fulano@gmail.com");
+		otherPerson = new Person(2L, "Ciclano", "Pereira", "João Pessoa - Paraiba - Brasil", "Male", "ciclano@gmail.com");
+	}
+	
+	@Benchmark
+	public int hashCodePerson() {
+		return person.hashCode();
+	}
+	
+	@Benchmark
+	public boolean equalsSamePerson() {
+		return person.equals(samePerson);
+	}
+	
+	@Benchmark
+	public boolean equalsOtherPerson() {
+		return person.equals(otherPerson);
+	}
+}
@@ -0,0 +1,117 @@
+package br.com.adriano.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import br.com.adriano.Startup;
+import br.com.adriano.models.Person;
+import br.com.adriano.services.PersonServices;
+
+// Sobe a aplicação com o Tomcat numa porta livre e um H2 em memória e mede, pelo HttpClient do JDK, a latência
+// de findById, de uma página de 1000 pessoas e do export em HTTP/1.1 e HTTP/2 (h2c), com e sem gzip.
+// O corpo não é descomprimido: o tempo medido é o de transferência. Os tamanhos recebidos saem no log (stderr) de cada trial
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonHttpBenchmark {
+	private Logger logger = Logger.getLogger(PersonHttpBenchmark.class.getName());
+
+	private static final int ROWS = 5000;
+	
+	@Param({ "HTTP_1_1", "HTTP_2" })
+	private HttpClient.Version protocol;
+	
+	@Param({ "identity", "gzip" })
+	private String encoding;
+	
+	private ConfigurableApplicationContext context;
+	private HttpClient client;
+	private HttpRequest findById;
+	private HttpRequest findAllPage;
+	private HttpRequest export;
+	
+	@Setup(Level.Trial)
+	public void setUp() throws IOException, InterruptedException {
+		context = new SpringApplicationBuilder(Startup.class)
+				.run(
+						"--server.port=0",
+						"--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+						"--spring.datasource.username=sa",
+						"--spring.datasource.password=",
+						"--spring.flyway.enabled=false",
+						"--spring.jpa.hibernate.ddl-auto=create-drop",
+						"--logging.level.root=WARN",
+						"--logging.level.br.com.adriano.benchmarks=INFO");
+		
+		PersonServices services = context.getBean(PersonServices.class);
+		Long firstId = null;
+		for (int i = 0; i < ROWS; i++) {
+			Person saved = services.create(new Person("Fulano", "da Silva", "Patos - Paraiba - Brasil", "Male", "fulano" + i + "@gmail.com"));
+			if (firstId == null) {
+				firstId = saved.getId();
+			}
+		}
+		
+		String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/person";
+		client = HttpClient.newBuilder().version(protocol).build();
+		findById = request(baseUrl + "/" + firstId);
+		findAllPage = request(baseUrl + "?limit=1000");
+		export = request(baseUrl + "/export");
+		
+		logger.info(String.format("%s %s bytes received: findById = %d, findAllPage = %d, export = %d", protocol, encoding,
+				send(findById).length, send(findAllPage).length, send(export).length));
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		client.close();
+		context.close();
+	}
+	
+	@Benchmark
+	public byte[] findById() throws IOException, InterruptedException {
+		return send(findById);
+	}
+	
+	@Benchmark
+	public byte[] findAllPage() throws IOException, InterruptedException {
+		return send(findAllPage);
+	}
+	
+	@Benchmark
+	public byte[] export() throws IOException, InterruptedException {
+		return send(export);
+	}
+	
+	private HttpRequest request(String url) {
+		return HttpRequest.newBuilder(URI.create(url)).header("Accept-Encoding", encoding).GET().build();
+	}
+	
+	private byte[] send(HttpRequest request) throws IOException, InterruptedException {
+		return client.send(request, HttpResponse.BodyHandlers.ofByteArray()).body();
+	}
+}
@@ -0,0 +1,143 @@
+package br.com.adriano.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import br.com.adriano.Startup;
+import br.com.adriano.models.Person;
+import br.com.adriano.services.PersonServices;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Teste de sobrecarga: 64 clientes sem pausa pedindo páginas de 1000 pessoas a uma aplicação com pool Hikari de 10
+// conexões (H2 em memória). Sem o ConcurrencyLimitFilter todas as requisições entram e esperam pelo pool; com ele o
+// excedente recebe 429 na hora. O placar do JMH mostra admitidas e recusadas por segundo; os percentis de latência
+// só das admitidas (o que o cliente atendido sente) e o limite do momento saem no log (stderr) de cada iteração
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Threads(64)
+@Fork(1)
+public class PersonOverloadBenchmark {
+	private Logger logger = Logger.getLogger(PersonOverloadBenchmark.class.getName());
+
+	private static final int ROWS = 5000;
+	private static final long REJECTED_BACKOFF_MILLIS = 100;
+	
+	@Param({ "false", "true" })
+	private boolean concurrencyLimit;
+	
+	private ConfigurableApplicationContext context;
+	private HttpClient client;
+	private HttpRequest findAllPage;
+	private MeterRegistry registry;
+	private final Recorder admittedLatency = new Recorder(3);
+	
+	// Contadores por thread somados pelo JMH e mostrados como taxas no placar
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Outcomes {
+		public long admitted;
+		public long rejected;
+		
+		@Setup(Level.Iteration)
+		public void reset() {
+			admitted = 0;
+			rejected = 0;
+		}
+	}
+	
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(Startup.class)
+				.run(
+						"--server.port=0",
+						"--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+						"--spring.datasource.username=sa",
+						"--spring.datasource.password=",
+						"--spring.datasource.hikari.maximum-pool-size=10",
+						"--spring.flyway.enabled=false",
+						"--spring.jpa.hibernate.ddl-auto=create-drop",
+						// Só o limite de concorrência: cada thread seria um cliente distinto para o rate limit
+						"--person.rate-limit.enabled=false",
+						"--person.concurrency-limit.enabled=" + concurrencyLimit,
+						"--logging.level.root=WARN",
+						"--logging.level.br.com.adriano.benchmarks=INFO");
+		
+		registry = context.getBean(MeterRegistry.class);
+		PersonServices services = context.getBean(PersonServices.class);
+		for (int i = 0; i < ROWS; i++) {
+			services.create(new Person("Fulano", "da Silva", "Patos - Paraiba - Brasil", "Male", "fulano" + i + "@gmail.com"));
+		}
+		
+		String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/person";
+		client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		findAllPage = HttpRequest.newBuilder(URI.create(baseUrl + "?limit=1000")).GET().build();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		client.close();
+		context.close();
+	}
+	
+	@Setup(Level.Iteration)
+	public void resetLatency() {
+		admittedLatency.reset();
+	}
+	
+	@TearDown(Level.Iteration)
+	public void logLatency() {
+		Histogram histogram = admittedLatency.getIntervalHistogram();
+		Gauge limit = registry.find("person.concurrency.limit").gauge();
+		logger.info(String.format("concurrencyLimit=%s (limit = %s) admitted latency (ms): p50 = %.1f, p99 = %.1f, p99.9 = %.1f, max = %.1f",
+				concurrencyLimit, limit == null ? "-" : (int) limit.value(), millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+				millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue())));
+	}
+	
+	@Benchmark
+	public int findAllPage(Outcomes outcomes) throws IOException, InterruptedException {
+		long start = System.nanoTime();
+		int status = client.send(findAllPage, HttpResponse.BodyHandlers.discarding()).statusCode();
+		if (status == 429) {
+			outcomes.rejected++;
+			// O cliente recusado espera antes de tentar de novo, como faria com o Retry-After (mais curto, para manter a sobrecarga)
+			Thread.sleep(REJECTED_BACKOFF_MILLIS);
+		} else {
+			admittedLatency.recordValue(System.nanoTime() - start);
+			outcomes.admitted++;
+		}
+		return status;
+	}
+	
+	private static double millis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+}
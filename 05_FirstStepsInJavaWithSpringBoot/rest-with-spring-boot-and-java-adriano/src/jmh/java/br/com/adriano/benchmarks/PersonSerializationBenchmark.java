@@ -0,0 +1,108 @@
+package br.com.adriano.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import br.com.adriano.models.Person;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersonSerializationBenchmark {
+	private static final Logger logger = Logger.getLogger(PersonSerializationBenchmark.class.getName());
+
+	// Formatos aceitos por PersonController: JSON (padrão) e Smile (Accept: application/x-jackson-smile)
+	@Param({ "json", "smile" })
+	private String format;
+	
+	private ObjectMapper mapper;
+	private ObjectWriter personWriter;
+	private ObjectReader personReader;
+	private Person person;
+	private byte[] personBytes;
+	
+	@Setup
+	public void setUp() throws JsonProcessingException {
+		mapper = format.equals("smile") ? new ObjectMapper(new SmileFactory()) : new ObjectMapper();
+		personWriter = mapper.writerFor(Person.class);
+		personReader = mapper.readerFor(Person.class);
+		
+		person = new Person(1L, "Fulano", "da Silva", "Patos - Paraiba - Brasil", "Male", "fulano@gmail.com");
+		
+		// O tamanho do payload não é uma métrica do JMH: sai no log (stderr) de cada trial, fora do placar
+		personBytes = personWriter.writeValueAsBytes(person);
+		logger.info(String.format("%s payload: person = %d bytes", format, personBytes.length));
+	}
+	
+	// As listas ficam num estado próprio: o listSize só multiplica os benchmarks que usam a lista,
+	// e não o serializePerson/deserializePerson
+	@State(Scope.Benchmark)
+	public static class PersonList {
+		
+		@Param({ "50", "1000" })
+		private int listSize;
+		
+		private ObjectWriter writer;
+		private ObjectReader reader;
+		private List<Person> persons;
+		private byte[] bytes;
+		
+		@Setup
+		public void setUp(PersonSerializationBenchmark benchmark) throws JsonProcessingException {
+			ObjectMapper mapper = benchmark.mapper;
+			writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Person.class));
+			reader = mapper.readerFor(mapper.getTypeFactory().constructCollectionType(List.class, Person.class));
+			
+			persons = new ArrayList<>(listSize);
+			for (int i = 0; i < listSize; i++) {
+				persons.add(new Person((long) i, "Fulano " + i, "da Silva", "Patos - Paraiba - Brasil", "Male", "fulano" + i + "@gmail.com"));
+			}
+			bytes = writer.writeValueAsBytes(persons);
+			logger.info(String.format("%s payload: list of %d = %d bytes", benchmark.format, listSize, bytes.length));
+		}
+	}
+	
+	@Benchmark
+	public byte[] serializePerson() throws JsonProcessingException {
+		return personWriter.writeValueAsBytes(person);
+	}
+	
+	@Benchmark
+	public byte[] serializePersonList(PersonList list) throws JsonProcessingException {
+		return list.writer.writeValueAsBytes(list.persons);
+	}
+	
+	@Benchmark
+	public Person deserializePerson() throws IOException {
+		return personReader.readValue(personBytes);
+	}
+	
+	@Benchmark
+	public List<Person> deserializePersonList(PersonList list) throws IOException {
+		return list.reader.readValue(list.bytes);
+	}
+}
@@ -0,0 +1,97 @@
+package br.com.adriano.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import br.com.adriano.Startup;
+import br.com.adriano.models.Person;
+import br.com.adriano.services.PersonServices;
+
+// Sobe o contexto Spring sem servidor web contra um H2 em memória (modo PostgreSQL),
+// então mede o custo de serviço + JPA + cache sem rede nem banco externo
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonServicesBenchmark {
+
+	private static final int ROWS = 1000;
+	
+	// "none" desliga o cache para medir o caminho até o banco
+	@Param({ "caffeine", "none" })
+	private String cacheType;
+	
+	private ConfigurableApplicationContext context;
+	private PersonServices services;
+	private final AtomicLong emailCounter = new AtomicLong();
+	private Long firstId;
+	
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(Startup.class)
+				.web(WebApplicationType.NONE)
+				// Argumentos de linha de comando: têm precedência sobre o application.properties
+				.run(
+						"--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+						"--spring.datasource.username=sa",
+						"--spring.datasource.password=",
+						// As migrações em db/migration são escritas para o PostgreSQL; no H2 o Hibernate gera o esquema
+						"--spring.flyway.enabled=false",
+						"--spring.jpa.hibernate.ddl-auto=create-drop",
+						"--spring.cache.type=" + cacheType,
+						"--logging.level.root=WARN");
+		services = context.getBean(PersonServices.class);
+		
+		for (int i = 0; i < ROWS; i++) {
+			Person saved = services.create(newPerson());
+			if (firstId == null) {
+				firstId = saved.getId();
+			}
+		}
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+	
+	@Benchmark
+	public Person findById() {
+		return services.findById(firstId).orElseThrow();
+	}
+	
+	@Benchmark
+	public List<Person> findAllPage() {
+		return services.findAll(null, 50);
+	}
+	
+	@Benchmark
+	public Person create() {
+		return services.create(newPerson());
+	}
+	
+	private Person newPerson() {
+		long n = emailCounter.incrementAndGet();
+		return new Person("Fulano", "da Silva", "Patos - Paraiba - Brasil", "Male", "fulano" + n + "@gmail.com");
+	}
+}
@@ -0,0 +1,96 @@
+package br.com.adriano.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Limite de requisições simultâneas ajustado pela latência, no estilo do TCP Vegas: compara cada tempo de resposta
+// com o menor já observado para estimar a fila que se formou (no pool do Hikari, no PostgreSQL...).
+// Fila pequena: o limite sobe um. Fila grande ou erro 5xx: o limite desce, e o excedente é recusado na entrada
+class AdaptiveConcurrencyLimiter {
+
+	// A cada "limit * PROBE_MULTIPLIER" amostras a latência mínima é medida de novo, para acompanhar mudanças de patamar
+	private static final int PROBE_MULTIPLIER = 30;
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private volatile int limit;
+
+	// Estado do ajuste, só lido e escrito com o lock
+	private final ReentrantLock lock = new ReentrantLock();
+	private long minRttNanos = Long.MAX_VALUE;
+	private long samplesUntilProbe;
+
+	AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.limit = Math.min(Math.max(initialLimit, minLimit), maxLimit);
+		this.samplesUntilProbe = (long) limit * PROBE_MULTIPLIER;
+	}
+
+	// Quantas requisições já estavam em andamento, ou -1 se o limite foi atingido
+	int tryAcquire() {
+		while (true) {
+			int current = inFlight.get();
+			if (current >= limit) {
+				return -1;
+			}
+			if (inFlight.compareAndSet(current, current + 1)) {
+				return current;
+			}
+		}
+	}
+
+	// Libera a vaga sem usar a requisição como amostra (respostas assíncronas, em que o tempo não é de banco)
+	void release() {
+		inFlight.decrementAndGet();
+	}
+
+	void release(long rttNanos, int inFlightAtStart, boolean dropped) {
+		inFlight.decrementAndGet();
+		
+		// Sob contenção basta uma thread ajustando o limite: as outras amostras são descartadas
+		if (!lock.tryLock()) {
+			return;
+		}
+		try {
+			adjust(rttNanos, inFlightAtStart, dropped);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void adjust(long rttNanos, int inFlightAtStart, boolean dropped) {
+		int current = limit;
+		if (dropped) {
+			limit = Math.max(minLimit, (int) (current * 0.9));
+			return;
+		}
+		
+		if (--samplesUntilProbe <= 0) {
+			minRttNanos = rttNanos;
+			samplesUntilProbe = (long) current * PROBE_MULTIPLIER;
+		}
+		minRttNanos = Math.max(1, Math.min(minRttNanos, rttNanos));
+		
+		// Com o limite longe de ser usado, a variação da latência é ruído e não fila: o limite fica como está
+		if (inFlightAtStart * 2 < current) {
+			return;
+		}
+		double queue = current * (1 - (double) minRttNanos / rttNanos);
+		double log = Math.max(1, Math.log10(current));
+		if (queue >= 6 * log) {
+			limit = Math.max(minLimit, current - (int) log);
+		} else if (queue <= 3 * log) {
+			limit = Math.min(maxLimit, current + 1);
+		}
+	}
+
+	int getLimit() {
+		return limit;
+	}
+
+	int getInFlight() {
+		return inFlight.get();
+	}
+}
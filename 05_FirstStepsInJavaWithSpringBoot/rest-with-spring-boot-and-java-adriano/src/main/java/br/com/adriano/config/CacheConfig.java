@@ -0,0 +1,14 @@
+package br.com.adriano.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// O cache fica por fora das transações (@Transactional tem ordem LOWEST_PRECEDENCE): um acerto não abre transação
+// nem pega conexão, e @CachePut/@CacheEvict só atuam depois do commit
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+	// Caches em memória (Caffeine) com tamanho e TTL definidos em spring.cache.caffeine.spec
+	public static final String PERSON_CACHE = "person";
+}
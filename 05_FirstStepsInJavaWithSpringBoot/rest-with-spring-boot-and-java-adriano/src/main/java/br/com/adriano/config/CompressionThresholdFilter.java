@@ -0,0 +1,204 @@
+package br.com.adriano.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+// O Tomcat só compara server.compression.min-response-size com o Content-Length, e as respostas JSON do Spring MVC
+// saem em chunked, sem Content-Length: sem este filtro até um findById de 150 bytes seria comprimido.
+// Os primeiros bytes de cada resposta ficam retidos até o limite. Se a resposta termina antes, sai com
+// Content-Length e sem compressão; se passa do limite, o que estava retido é liberado e o resto segue em streaming
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "server.compression.enabled", havingValue = "true")
+public class CompressionThresholdFilter extends OncePerRequestFilter {
+
+	private final int threshold;
+
+	public CompressionThresholdFilter(@Value("${server.compression.min-response-size:2KB}") DataSize threshold) {
+		this.threshold = (int) threshold.toBytes();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		ThresholdResponse wrapper = new ThresholdResponse(response, threshold);
+		chain.doFilter(request, wrapper);
+		
+		// Respostas assíncronas (export) continuam sendo escritas depois que o filtro retorna: passam direto
+		if (request.isAsyncStarted()) {
+			wrapper.release();
+		} else {
+			wrapper.finish();
+		}
+	}
+
+	private static class ThresholdResponse extends HttpServletResponseWrapper {
+		private final int threshold;
+		private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		private ServletOutputStream outputStream;
+		private PrintWriter writer;
+
+		ThresholdResponse(HttpServletResponse response, int threshold) {
+			super(response);
+			this.threshold = threshold;
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			if (outputStream == null) {
+				outputStream = new ThresholdOutputStream();
+			}
+			return outputStream;
+		}
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+			if (writer == null) {
+				writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+			}
+			return writer;
+		}
+
+		// Com o tamanho já declarado o Tomcat decide sozinho
+		@Override
+		public void setContentLength(int len) {
+			setContentLengthLong(len);
+		}
+
+		@Override
+		public void setContentLengthLong(long len) {
+			super.setContentLengthLong(len);
+			try {
+				release();
+			} catch (IOException ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			if (writer != null) {
+				writer.flush();
+			}
+			if (buffer == null) {
+				super.flushBuffer();
+			}
+		}
+
+		@Override
+		public void resetBuffer() {
+			super.resetBuffer();
+			if (buffer != null) {
+				buffer.reset();
+			}
+		}
+
+		@Override
+		public void reset() {
+			super.reset();
+			if (buffer != null) {
+				buffer.reset();
+			}
+		}
+
+		// Terminou dentro do limite: declara o tamanho, o que desliga a compressão no Tomcat
+		synchronized void finish() throws IOException {
+			if (writer != null) {
+				writer.flush();
+			}
+			if (buffer != null && !isCommitted()) {
+				byte[] body = buffer.toByteArray();
+				buffer = null;
+				if (body.length > 0) {
+					super.setContentLengthLong(body.length);
+					super.getOutputStream().write(body);
+				}
+			} else {
+				release();
+			}
+		}
+
+		// Passou do limite (ou não dá para saber o tamanho final): libera o que estava retido e para de reter
+		synchronized void release() throws IOException {
+			if (buffer != null) {
+				byte[] body = buffer.toByteArray();
+				buffer = null;
+				if (body.length > 0) {
+					super.getOutputStream().write(body);
+				}
+			}
+		}
+
+		private class ThresholdOutputStream extends ServletOutputStream {
+
+			@Override
+			public void write(int b) throws IOException {
+				write(new byte[] { (byte) b }, 0, 1);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				synchronized (ThresholdResponse.this) {
+					if (buffer != null && buffer.size() + len >= threshold) {
+						release();
+					}
+					if (buffer != null) {
+						buffer.write(b, off, len);
+						return;
+					}
+				}
+				ThresholdResponse.super.getOutputStream().write(b, off, len);
+			}
+
+			// Enquanto retém, flush não envia nada: enviaria a resposta em chunked antes de saber o tamanho
+			@Override
+			public void flush() throws IOException {
+				if (buffer == null) {
+					ThresholdResponse.super.getOutputStream().flush();
+				}
+			}
+
+			@Override
+			public boolean isReady() {
+				synchronized (ThresholdResponse.this) {
+					if (buffer != null) {
+						return true;
+					}
+				}
+				try {
+					return ThresholdResponse.super.getOutputStream().isReady();
+				} catch (IOException ex) {
+					throw new IllegalStateException(ex);
+				}
+			}
+
+			// I/O não bloqueante: quem escreve decide pelo isReady() do container, então para de reter e delega
+			@Override
+			public void setWriteListener(WriteListener listener) {
+				try {
+					release();
+					ThresholdResponse.super.getOutputStream().setWriteListener(listener);
+				} catch (IOException ex) {
+					throw new IllegalStateException(ex);
+				}
+			}
+		}
+	}
+}
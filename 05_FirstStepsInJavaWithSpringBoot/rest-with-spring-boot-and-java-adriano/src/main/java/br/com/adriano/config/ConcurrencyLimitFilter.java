@@ -0,0 +1,114 @@
+package br.com.adriano.config;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Descarta carga quando as requisições simultâneas em /person/** passam do limite adaptativo
+// (AdaptiveConcurrencyLimiter). Recusar na entrada custa microssegundos; deixar entrar faria a requisição
+// esperar por uma conexão do Hikari e aumentaria a latência de todas as outras.
+// A recusa é 429 e não 503: o Tomcat fecha a conexão depois de um 503, e sob sobrecarga cada cliente recusado
+// abriria uma conexão nova justamente quando o servidor tem menos folga
+@Component
+@Profile("!reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE + 11)
+@ConditionalOnProperty(name = "person.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitFilter extends PersonTrafficFilter {
+
+	private final AdaptiveConcurrencyLimiter limiter;
+	private final Counter rejected;
+
+	public ConcurrencyLimitFilter(
+			@Value("${person.concurrency-limit.initial:20}") int initialLimit,
+			@Value("${person.concurrency-limit.min:5}") int minLimit,
+			@Value("${person.concurrency-limit.max:100}") int maxLimit,
+			ObjectMapper mapper, MeterRegistry registry) {
+		super(mapper);
+		this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit);
+		Gauge.builder("person.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+				.description("Limite atual de requisições simultâneas em /person")
+				.register(registry);
+		Gauge.builder("person.concurrency.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+				.description("Requisições em andamento em /person")
+				.register(registry);
+		this.rejected = Counter.builder("person.requests.rejected")
+				.description("Requisições recusadas antes de chegar ao PersonController")
+				.tag("reason", "concurrency_limit")
+				.tag("operation", "any")
+				.register(registry);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		int inFlight = limiter.tryAcquire();
+		if (inFlight < 0) {
+			rejected.increment();
+			reject(request, response, HttpStatus.TOO_MANY_REQUESTS, 1, "Server is at its concurrency limit");
+			return;
+		}
+		
+		long start = System.nanoTime();
+		boolean dropped = true;
+		try {
+			chain.doFilter(request, response);
+			dropped = response.getStatus() >= 500;
+		} finally {
+			if (request.isAsyncStarted()) {
+				// O export continua em outra thread: a vaga só é liberada no fim, e o tempo dele não vira amostra
+				request.getAsyncContext().addListener(new ReleaseListener());
+			} else {
+				limiter.release(System.nanoTime() - start, inFlight, dropped);
+			}
+		}
+	}
+
+	private class ReleaseListener implements AsyncListener {
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			release();
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			release();
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			release();
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+			event.getAsyncContext().addListener(this);
+		}
+
+		private void release() {
+			if (released.compareAndSet(false, true)) {
+				limiter.release();
+			}
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package br.com.adriano.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+// Modo de subida rápida (profile "lazy"): os beans das classes em person.startup.lazy.classes (nome ou prefixo de pacote)
+// só são criados no primeiro uso, em vez de atrasar a subida. Diferente de spring.main.lazy-initialization, o
+// caminho do /person continua criado na subida e a primeira requisição não paga por ele.
+// Com o processamento AOT (profile "native" do pom) a marcação é decidida no build
+@Configuration
+@ConditionalOnProperty(name = "person.startup.lazy.enabled", havingValue = "true")
+public class LazyInitializationConfig {
+
+	@Bean
+	static BeanFactoryPostProcessor lazyInitializationPostProcessor(Environment environment) {
+		List<String> classes = List.of(environment.getProperty("person.startup.lazy.classes", String[].class, new String[0]));
+		return beanFactory -> {
+			for (String beanName : beanFactory.getBeanDefinitionNames()) {
+				BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+				String className = declaringClassName(definition);
+				if (className != null && classes.stream().anyMatch(className::startsWith)) {
+					definition.setLazyInit(true);
+				}
+			}
+		};
+	}
+
+	// Beans de métodos @Bean contam pela classe de configuração que os declara
+	static String declaringClassName(BeanDefinition definition) {
+		if (definition instanceof AnnotatedBeanDefinition annotated && annotated.getFactoryMethodMetadata() != null) {
+			return annotated.getFactoryMethodMetadata().getDeclaringClassName();
+		}
+		return definition.getBeanClassName();
+	}
+}
@@ -0,0 +1,38 @@
+package br.com.adriano.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+// Hints do executável nativo (profile "native" do pom) para o que nem o processamento AOT do Spring nem os metadados
+// de reachability do GraalVM cobrem. Person, Greeting, PersonBatchResult e os métodos do PersonRepository já entram
+// pelo AOT (controllers, entidades JPA e repositórios), e as migrações e application-*.properties pelo Spring Boot
+@Configuration
+@ImportRuntimeHints(NativeHints.Registrar.class)
+public class NativeHints {
+
+	// O Caffeine instancia por nome a classe gerada para cada combinação de opções. Os metadados do GraalVM só trazem
+	// as combinações testadas: registra a do RateLimitFilter (maximumSize + expireAfterAccess) e a dos status do
+	// PersonIngestionService e do ReadYourWritesFilter (maximumSize + expireAfterWrite, sem recordStats), sem depender
+	// da versão dos metadados
+	static final String[] CAFFEINE_GENERATED_CLASSES = {
+			"com.github.benmanes.caffeine.cache.SSMSA",
+			"com.github.benmanes.caffeine.cache.PSAMS",
+			"com.github.benmanes.caffeine.cache.SSMSW",
+			"com.github.benmanes.caffeine.cache.PSWMS"
+	};
+
+	static class Registrar implements RuntimeHintsRegistrar {
+
+		@Override
+		public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+			for (String className : CAFFEINE_GENERATED_CLASSES) {
+				hints.reflection().registerType(TypeReference.of(className),
+						MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS);
+			}
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package br.com.adriano.config;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Set;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Base dos filtros que protegem o PersonController: só atuam em /person/** (o Actuator nunca é recusado)
+// e recusam com o mesmo ProblemDetail do CustomizedResponseEntityExceptionHandler, escrito direto na resposta
+abstract class PersonTrafficFilter extends OncePerRequestFilter {
+
+	private final ObjectMapper mapper;
+
+	PersonTrafficFilter(ObjectMapper mapper) {
+		this.mapper = mapper;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		return !(path.equals("/person") || path.startsWith("/person/"));
+	}
+
+	// Identifica o cliente pela API key quando ela é uma das emitidas ou, sem ela, pelo IP. Uma key qualquer no header
+	// não vale: bastaria trocá-la a cada requisição para ganhar um balde novo
+	static String clientKey(HttpServletRequest request, String apiKeyHeader, Set<String> apiKeys) {
+		String apiKey = request.getHeader(apiKeyHeader);
+		return apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+	}
+
+	static boolean isRead(String method) {
+		return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method);
+	}
+
+	protected void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+			long retryAfterSeconds, String detail) throws IOException {
+		ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, detail);
+		problem.setInstance(URI.create(request.getRequestURI()));
+		
+		response.setStatus(status.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+		response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+		mapper.writeValue(response.getOutputStream(), problem);
+	}
+}
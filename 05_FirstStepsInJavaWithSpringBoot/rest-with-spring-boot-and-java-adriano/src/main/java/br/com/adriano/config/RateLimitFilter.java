@@ -0,0 +1,146 @@
+package br.com.adriano.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.adriano.controllers.PersonController;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Um token bucket por cliente (API key emitida ou, sem ela, o IP) e endpoint. Leituras, escritas e criações assíncronas
+// (POST /person com "Prefer: respond-async", que só enfileiram) têm taxas próprias em person.rate-limit.*; acima delas
+// a resposta é 429 com Retry-After, antes de chegar ao PersonServices.
+// Os baldes ficam num cache Caffeine: a busca é concorrente sem lock global e clientes inativos são descartados
+@Component
+@Profile("!reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "person.rate-limit.enabled", havingValue = "true")
+public class RateLimitFilter extends PersonTrafficFilter {
+
+	// "/person/42" e "/person/43" são o mesmo endpoint. Só os caminhos mapeados no PersonController têm balde próprio:
+	// qualquer outro caminho em /person/** cai num balde só, senão cada URL inventada seria um balde novo
+	private static final Set<String> ENDPOINTS = Set.of("/person", "/person/search", "/person/export", "/person/batch");
+	private static final Pattern PERSON_ID = Pattern.compile("/person/\\d+");
+	private static final Pattern TRACKING_ID = Pattern.compile("/person/ingestion/\\p{XDigit}{8}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{12}");
+	private static final String OTHER_ENDPOINTS = "/person/**";
+
+	private final String apiKeyHeader;
+	private final Set<String> apiKeys;
+	private final double readPerSecond;
+	private final int readBurst;
+	private final double writePerSecond;
+	private final int writeBurst;
+	private final boolean asyncIngestion;
+	private final double ingestionPerSecond;
+	private final int ingestionBurst;
+	private final Cache<String, TokenBucket> buckets;
+	private final Counter readRejected;
+	private final Counter writeRejected;
+	private final Counter ingestionRejected;
+
+	public RateLimitFilter(
+			@Value("${person.rate-limit.api-key-header:X-API-Key}") String apiKeyHeader,
+			@Value("${person.rate-limit.api-keys:}") Set<String> apiKeys,
+			@Value("${person.rate-limit.read.per-second:50}") double readPerSecond,
+			@Value("${person.rate-limit.read.burst:100}") int readBurst,
+			@Value("${person.rate-limit.write.per-second:10}") double writePerSecond,
+			@Value("${person.rate-limit.write.burst:20}") int writeBurst,
+			@Value("${person.ingestion.async.enabled:false}") boolean asyncIngestion,
+			@Value("${person.rate-limit.ingestion.per-second:1000}") double ingestionPerSecond,
+			@Value("${person.rate-limit.ingestion.burst:2000}") int ingestionBurst,
+			@Value("${person.rate-limit.max-clients:100000}") long maxClients,
+			ObjectMapper mapper, MeterRegistry registry) {
+		super(mapper);
+		this.apiKeyHeader = apiKeyHeader;
+		this.apiKeys = apiKeys;
+		this.readPerSecond = readPerSecond;
+		this.readBurst = readBurst;
+		this.writePerSecond = writePerSecond;
+		this.writeBurst = writeBurst;
+		this.asyncIngestion = asyncIngestion;
+		this.ingestionPerSecond = ingestionPerSecond;
+		this.ingestionBurst = ingestionBurst;
+		// Um balde parado por mais tempo que o necessário para encher de novo já não guarda nada útil
+		double refillSeconds = Math.max(Math.max(readBurst / readPerSecond, writeBurst / writePerSecond), ingestionBurst / ingestionPerSecond);
+		this.buckets = Caffeine.newBuilder()
+				.maximumSize(maxClients)
+				.expireAfterAccess(Duration.ofSeconds((long) Math.ceil(refillSeconds) + 1))
+				.build();
+		this.readRejected = rejectedCounter(registry, "read");
+		this.writeRejected = rejectedCounter(registry, "write");
+		this.ingestionRejected = rejectedCounter(registry, "ingestion");
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		boolean read = isRead(request.getMethod());
+		String endpoint = endpoint(request);
+		boolean ingestion = !read && isIngestion(request, endpoint);
+		String key = clientKey(request, apiKeyHeader, apiKeys) + ' ' + request.getMethod() + ' ' + endpoint
+				+ (ingestion ? " " + PersonController.PREFER_RESPOND_ASYNC : "");
+		long now = System.nanoTime();
+		TokenBucket bucket = buckets.get(key, k -> read ? new TokenBucket(readPerSecond, readBurst, now)
+				: ingestion ? new TokenBucket(ingestionPerSecond, ingestionBurst, now)
+				: new TokenBucket(writePerSecond, writeBurst, now));
+		
+		long waitNanos = bucket.tryAcquire(now);
+		if (waitNanos > 0) {
+			(read ? readRejected : ingestion ? ingestionRejected : writeRejected).increment();
+			long retryAfter = Math.max(1, (long) Math.ceil(waitNanos / (double) TimeUnit.SECONDS.toNanos(1)));
+			reject(request, response, HttpStatus.TOO_MANY_REQUESTS, retryAfter, "Rate limit exceeded");
+			return;
+		}
+		chain.doFilter(request, response);
+	}
+
+	// Só quando o modo assíncrono está ligado: sem ele a preferência é ignorada e a criação é síncrona
+	private boolean isIngestion(HttpServletRequest request, String endpoint) {
+		return asyncIngestion && HttpMethod.POST.matches(request.getMethod()) && endpoint.equals("/person")
+				&& PersonController.prefersRespondAsync(Collections.list(request.getHeaders(PersonController.PREFER)).toArray(String[]::new));
+	}
+
+	private static String endpoint(HttpServletRequest request) {
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		if (ENDPOINTS.contains(path)) {
+			return path;
+		}
+		if (PERSON_ID.matcher(path).matches()) {
+			return "/person/{id}";
+		}
+		if (TRACKING_ID.matcher(path).matches()) {
+			return "/person/ingestion/{trackingId}";
+		}
+		return OTHER_ENDPOINTS;
+	}
+
+	private static Counter rejectedCounter(MeterRegistry registry, String operation) {
+		return Counter.builder("person.requests.rejected")
+				.description("Requisições recusadas antes de chegar ao PersonController")
+				.tag("reason", "rate_limit")
+				.tag("operation", operation)
+				.register(registry);
+	}
+}
@@ -0,0 +1,77 @@
+package br.com.adriano.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Leituras nas réplicas, escritas no primário (spring.datasource.*), ativado por person.datasource.replicas.urls
+// (ver application-replicas.properties). O DataSource do JPA é um LazyConnectionDataSourceProxy: a conexão física só
+// é pega no primeiro comando, quando já se sabe se a transação é read-only, e as read-only vão para o ReplicaRoutingDataSource
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "person.datasource.replicas.urls")
+public class ReadReplicaConfig {
+
+	// O Flyway migra só o primário; as réplicas recebem o esquema pela replicação
+	@Bean
+	@FlywayDataSource
+	@ConfigurationProperties("spring.datasource.hikari")
+	HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+	}
+
+	@Bean(destroyMethod = "close")
+	ReplicaRoutingDataSource replicaDataSource(@Qualifier("primaryDataSource") DataSource primary, DataSourceProperties properties,
+			@Value("${person.datasource.replicas.urls}") List<String> urls,
+			@Value("${person.datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+			@Value("${person.datasource.replicas.connection-timeout:1s}") Duration connectionTimeout,
+			@Value("${person.datasource.replicas.max-lag:5s}") Duration maxLag,
+			@Value("${person.datasource.replicas.health-check-interval:5s}") Duration healthCheckInterval,
+			MeterRegistry registry, ConfigurableApplicationContext context) {
+		List<DataSource> replicas = IntStream.range(0, urls.size()).mapToObj(i -> {
+			HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(urls.get(i)).build();
+			replica.setPoolName("replica-" + i);
+			replica.setMaximumPoolSize(maximumPoolSize);
+			// Espera curta por conexão: uma réplica fora do ar cai para a próxima (ou para o primário) em vez de segurar a requisição
+			replica.setConnectionTimeout(connectionTimeout.toMillis());
+			replica.setReadOnly(true);
+			replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+			return (DataSource) replica;
+		}).toList();
+		
+		ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replicas, maxLag, healthCheckInterval, context);
+		Gauge.builder("person.datasource.replicas.healthy", dataSource, ReplicaRoutingDataSource::getHealthyReplicas)
+				.description("Réplicas de leitura no rodízio")
+				.register(registry);
+		return dataSource;
+	}
+
+	@Bean
+	@Primary
+	DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary, ReplicaRoutingDataSource replicas) {
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+		dataSource.setReadOnlyDataSource(replicas);
+		return dataSource;
+	}
+}
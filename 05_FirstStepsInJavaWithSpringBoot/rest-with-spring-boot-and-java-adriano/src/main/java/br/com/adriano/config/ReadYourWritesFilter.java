@@ -0,0 +1,65 @@
+package br.com.adriano.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Read-your-writes com réplicas: depois de uma escrita bem-sucedida, as leituras do mesmo cliente (mesma identificação
+// do RateLimitFilter) vão para o primário durante a janela, que deve cobrir o atraso tolerado das réplicas.
+// Vale para a thread da requisição; o export, que roda em outra thread, continua lendo das réplicas
+@Component
+@Profile("!reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE + 12)
+@ConditionalOnProperty(name = "person.datasource.replicas.urls")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+	private final String apiKeyHeader;
+	private final Set<String> apiKeys;
+	private final Cache<String, Boolean> recentWriters;
+
+	public ReadYourWritesFilter(
+			@Value("${person.rate-limit.api-key-header:X-API-Key}") String apiKeyHeader,
+			@Value("${person.rate-limit.api-keys:}") Set<String> apiKeys,
+			@Value("${person.datasource.read-your-writes-window:10s}") Duration window,
+			@Value("${person.datasource.read-your-writes-max-clients:100000}") long maxClients) {
+		this.apiKeyHeader = apiKeyHeader;
+		this.apiKeys = apiKeys;
+		// Limitado como os baldes do RateLimitFilter: uma rajada de escritas de muitos IPs não cresce sem limite
+		// durante a janela. Um cliente descartado antes da hora só volta a ler das réplicas mais cedo
+		this.recentWriters = Caffeine.newBuilder()
+				.maximumSize(maxClients)
+				.expireAfterWrite(window)
+				.build();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String client = PersonTrafficFilter.clientKey(request, apiKeyHeader, apiKeys);
+		ReplicaRoutingDataSource.setPrimaryRequired(recentWriters.getIfPresent(client) != null);
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			ReplicaRoutingDataSource.setPrimaryRequired(false);
+			if (!PersonTrafficFilter.isRead(request.getMethod()) && response.getStatus() < 400) {
+				recentWriters.put(client, Boolean.TRUE);
+			}
+		}
+	}
+}
@@ -0,0 +1,177 @@
+package br.com.adriano.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.jdbc.HikariCheckpointRestoreLifecycle;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+// Destino das conexões read-only (ver ReadReplicaConfig): distribui em rodízio entre as réplicas saudáveis e
+// usa o primário quando nenhuma está disponível ou quando a requisição exige ler as próprias escritas.
+// Uma réplica sai do rodízio quando não dá para conectar nela (no getConnection ou numa verificação periódica) e volta na
+// primeira verificação bem-sucedida. Pool esgotado não tira a réplica do rodízio: ela está no ar, só ocupada.
+// Como Lifecycle, para as verificações e fecha as conexões das réplicas no checkpoint do CRaC (o primário fica com o Spring Boot)
+class ReplicaRoutingDataSource extends AbstractDataSource implements SmartLifecycle, AutoCloseable {
+	private Logger logger = Logger.getLogger(ReplicaRoutingDataSource.class.getName());
+	
+	// Atraso da réplica em segundos. Sem WAL pendente (primário parado) o atraso é zero, mesmo com a última transação antiga
+	private static final String LAG_SQL = """
+			SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+				ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END""";
+	
+	// Marcado pelo ReadYourWritesFilter na thread da requisição
+	private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+	
+	private final DataSource primary;
+	private final List<Replica> replicas;
+	private final double maxLagSeconds;
+	private final Duration healthCheckInterval;
+	private final AtomicInteger next = new AtomicInteger();
+	private final ScheduledExecutorService healthChecker = Executors.newSingleThreadScheduledExecutor(
+			Thread.ofPlatform().name("replica-health-check").daemon().factory());
+	private volatile ScheduledFuture<?> healthCheck;
+	
+	ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration maxLag, Duration healthCheckInterval,
+			ConfigurableApplicationContext context) {
+		this.primary = primary;
+		this.replicas = replicas.stream().map(replica -> new Replica(replica, context)).toList();
+		this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+		this.healthCheckInterval = healthCheckInterval;
+	}
+
+	@Override
+	public synchronized void start() {
+		if (healthCheck == null) {
+			replicas.forEach(replica -> replica.pool.start());
+			healthCheck = healthChecker.scheduleWithFixedDelay(this::checkReplicas, 0, healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+		}
+	}
+
+	// Chamado no checkpoint e no encerramento: sem verificação em andamento, as conexões ociosas das réplicas são fechadas
+	// (suspendendo o pool quando allowPoolSuspension) e reabertas sob demanda depois do restore
+	@Override
+	public synchronized void stop() {
+		if (healthCheck != null) {
+			healthCheck.cancel(false);
+			healthCheck = null;
+			replicas.forEach(replica -> replica.pool.stop());
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return healthCheck != null;
+	}
+
+	static void setPrimaryRequired(boolean required) {
+		if (required) {
+			PRIMARY_REQUIRED.set(Boolean.TRUE);
+		} else {
+			PRIMARY_REQUIRED.remove();
+		}
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return getConnection(DataSource::getConnection);
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return getConnection(dataSource -> dataSource.getConnection(username, password));
+	}
+
+	private Connection getConnection(ConnectionSource source) throws SQLException {
+		if (PRIMARY_REQUIRED.get() == null) {
+			int start = next.getAndIncrement();
+			for (int i = 0; i < replicas.size(); i++) {
+				Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+				if (!replica.healthy) {
+					continue;
+				}
+				try {
+					return source.getConnection(replica.dataSource);
+				} catch (SQLException ex) {
+					if (isConnectivityFailure(ex)) {
+						replica.healthy = false;
+						logger.log(Level.WARNING, "Replica unavailable, removed until the next health check", ex);
+					} else {
+						logger.log(Level.FINE, "Replica busy, trying the next one", ex);
+					}
+				}
+			}
+		}
+		return source.getConnection(primary);
+	}
+
+	// Erro de conexão (SQLState classe 08). O timeout do Hikari é um SQLTransientConnectionException com o SQLState da
+	// última tentativa de conectar quando o banco não responde, e sem SQLState quando só faltou conexão livre no pool
+	static boolean isConnectivityFailure(SQLException ex) {
+		return ex instanceof SQLNonTransientConnectionException
+				|| (ex.getSQLState() != null && ex.getSQLState().startsWith("08"));
+	}
+
+	void checkReplicas() {
+		for (Replica replica : replicas) {
+			boolean healthy;
+			try (Connection connection = replica.dataSource.getConnection();
+					Statement statement = connection.createStatement();
+					ResultSet lag = statement.executeQuery(LAG_SQL)) {
+				healthy = lag.next() && lag.getDouble(1) <= maxLagSeconds;
+			} catch (SQLException ex) {
+				healthy = false;
+			}
+			if (healthy != replica.healthy) {
+				logger.info("Replica " + (healthy ? "back in rotation" : "removed from rotation") + ": " + replica.dataSource);
+			}
+			replica.healthy = healthy;
+		}
+	}
+
+	int getHealthyReplicas() {
+		return (int) replicas.stream().filter(replica -> replica.healthy).count();
+	}
+
+	@Override
+	public void close() throws Exception {
+		healthChecker.shutdownNow();
+		for (Replica replica : replicas) {
+			if (replica.dataSource instanceof AutoCloseable closeable) {
+				closeable.close();
+			}
+		}
+	}
+
+	@FunctionalInterface
+	private interface ConnectionSource {
+		Connection getConnection(DataSource dataSource) throws SQLException;
+	}
+
+	private static class Replica {
+		private final DataSource dataSource;
+		// Não faz nada quando o DataSource não é um pool do Hikari
+		private final HikariCheckpointRestoreLifecycle pool;
+		private volatile boolean healthy = true;
+
+		Replica(DataSource dataSource, ConfigurableApplicationContext context) {
+			this.dataSource = dataSource;
+			this.pool = new HikariCheckpointRestoreLifecycle(dataSource, context);
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package br.com.adriano.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+@Configuration
+@Profile("!reactive")
+public class SmileConfig implements WebMvcConfigurer {
+
+	private final Jackson2ObjectMapperBuilder builder;
+
+	public SmileConfig(Jackson2ObjectMapperBuilder builder) {
+		this.builder = builder;
+	}
+
+	// O Spring MVC já registra um conversor Smile quando a biblioteca está no classpath, mas com um ObjectMapper
+	// próprio. Este usa o mesmo builder do conversor JSON (propriedades spring.jackson.*), então os dois formatos
+	// escrevem os mesmos campos. Fica logo depois do JSON, que continua sendo a resposta para Accept: */*
+	@Override
+	public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+		converters.removeIf(MappingJackson2SmileHttpMessageConverter.class::isInstance);
+		
+		int json = 0;
+		while (json < converters.size() && !(converters.get(json) instanceof MappingJackson2HttpMessageConverter)) {
+			json++;
+		}
+		converters.add(Math.min(json + 1, converters.size()),
+				new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build()));
+	}
+}
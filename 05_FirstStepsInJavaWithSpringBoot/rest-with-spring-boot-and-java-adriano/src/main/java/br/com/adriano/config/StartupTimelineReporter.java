@@ -0,0 +1,118 @@
+package br.com.adriano.config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.startup.StartupEndpoint;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Quando a subida é gravada (BufferingApplicationStartup, ver Startup.main), grava a linha do tempo em
+// person.startup.timeline-file, no mesmo formato do /actuator/startup, e loga quanto tempo cada etapa levou.
+// O tempo de cada etapa é o próprio, sem o das etapas internas: a criação do entityManagerFactory não soma
+// de novo a do dataSource que ela pede, então os totais por etapa não se sobrepõem
+@Component
+public class StartupTimelineReporter {
+	private Logger logger = Logger.getLogger(StartupTimelineReporter.class.getName());
+	
+	private final ObjectMapper objectMapper;
+	private final String timelineFile;
+	private final int top;
+	
+	public StartupTimelineReporter(ObjectMapper objectMapper,
+			@Value("${person.startup.timeline-file:}") String timelineFile,
+			@Value("${person.startup.report-top:10}") int top) {
+		this.objectMapper = objectMapper;
+		this.timelineFile = timelineFile;
+		this.top = top;
+	}
+
+	@EventListener
+	public void onReady(ApplicationReadyEvent event) {
+		if (!(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+			return;
+		}
+		// getBufferedTimeline não esvazia o buffer, que continua disponível no /actuator/startup
+		StartupTimeline timeline = startup.getBufferedTimeline();
+		logger.info(report(timeline, top));
+		if (!timelineFile.isBlank()) {
+			write(startup, Path.of(timelineFile));
+		}
+	}
+
+	static String report(StartupTimeline timeline, int top) {
+		List<TimelineEvent> events = timeline.getEvents();
+		Map<Long, Duration> children = new HashMap<>();
+		for (TimelineEvent event : events) {
+			Long parentId = event.getStartupStep().getParentId();
+			if (parentId != null) {
+				children.merge(parentId, event.getDuration(), Duration::plus);
+			}
+		}
+		Map<String, Duration> byStep = new HashMap<>();
+		Map<String, Duration> byBean = new HashMap<>();
+		for (TimelineEvent event : events) {
+			StartupStep step = event.getStartupStep();
+			Duration self = event.getDuration().minus(children.getOrDefault(step.getId(), Duration.ZERO));
+			byStep.merge(step.getName(), self, Duration::plus);
+			// A criação do proxy de um repositório é uma etapa própria dentro da do bean
+			String beanName = tag(step, "beanName") != null ? tag(step, "beanName") : tag(step, "repository");
+			if (beanName != null) {
+				byBean.merge(beanName, self, Duration::plus);
+			}
+		}
+		
+		Duration total = Duration.between(timeline.getStartTime(), events.isEmpty() ? timeline.getStartTime()
+				: events.getLast().getEndTime());
+		return "Startup timeline: " + events.size() + " steps in " + total.toMillis() + " ms"
+				+ "\n  By step:" + lines(byStep, top)
+				+ "\n  Slowest beans and repositories:" + lines(byBean, top);
+	}
+
+	private static String tag(StartupStep step, String key) {
+		return StreamSupport.stream(step.getTags().spliterator(), false)
+				.filter(tag -> tag.getKey().equals(key))
+				.map(StartupStep.Tag::getValue)
+				.findFirst()
+				.orElse(null);
+	}
+
+	private static String lines(Map<String, Duration> durations, int top) {
+		return durations.entrySet().stream()
+				.sorted(Map.Entry.<String, Duration>comparingByValue(Comparator.reverseOrder()))
+				.limit(top)
+				.map(entry -> String.format("%n    %6d ms  %s", entry.getValue().toMillis(), entry.getKey()))
+				.collect(Collectors.joining());
+	}
+
+	private void write(BufferingApplicationStartup startup, Path file) {
+		try {
+			if (file.toAbsolutePath().getParent() != null) {
+				Files.createDirectories(file.toAbsolutePath().getParent());
+			}
+			objectMapper.writerWithDefaultPrettyPrinter()
+					.writeValue(file.toFile(), new StartupEndpoint(startup).startupSnapshot());
+			logger.info("Startup timeline written to " + file.toAbsolutePath());
+		} catch (IOException ex) {
+			logger.log(Level.WARNING, "Could not write the startup timeline to " + file, ex);
+		}
+	}
+}
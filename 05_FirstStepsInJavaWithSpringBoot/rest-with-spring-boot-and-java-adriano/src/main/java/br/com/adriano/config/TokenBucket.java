@@ -0,0 +1,35 @@
+package br.com.adriano.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket sem lock no formato GCRA (generic cell rate algorithm): em vez de um contador de tokens
+// reabastecido por tempo, guarda só o instante teórico em que o balde fica cheio de novo. Cada requisição
+// empurra esse instante um intervalo para frente, num único compareAndSet
+class TokenBucket {
+
+	private final long intervalNanos;
+	private final long burstNanos;
+	private final AtomicLong theoreticalArrival;
+
+	TokenBucket(double permitsPerSecond, int burst, long now) {
+		this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+		this.burstNanos = intervalNanos * burst;
+		this.theoreticalArrival = new AtomicLong(now);
+	}
+
+	// 0 quando há token; senão, quantos nanossegundos faltam para o próximo
+	long tryAcquire(long now) {
+		while (true) {
+			long arrival = theoreticalArrival.get();
+			long next = Math.max(arrival, now) + intervalNanos;
+			long wait = next - now - burstNanos;
+			if (wait > 0) {
+				return wait;
+			}
+			if (theoreticalArrival.compareAndSet(arrival, next)) {
+				return 0;
+			}
+		}
+	}
+}
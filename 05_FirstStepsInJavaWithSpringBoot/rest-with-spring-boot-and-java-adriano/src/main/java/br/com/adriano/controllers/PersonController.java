@@ -1,61 +1,196 @@
 package br.com.adriano.controllers;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 //import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import br.com.adriano.exceptions.PreconditionFailedException;
+import br.com.adriano.exceptions.ResourceNotFoundException;
 import br.com.adriano.models.Person;
+import br.com.adriano.models.PersonBatchResult;
+import br.com.adriano.models.PersonIngestionStatus;
+import br.com.adriano.services.PersonIngestionService;
 import br.com.adriano.services.PersonServices;
 
 @RestController
 @RequestMapping("/person")
+@Profile("!reactive")
 public class PersonController {
 	
+	public static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+	
+	// Jackson Smile: JSON binário, sem conversão de números para texto e com nomes de campos repetidos
+	// referenciados em vez de reescritos. Registrado em SmileConfig; JSON continua sendo o padrão
+	public static final String SMILE_VALUE = "application/x-jackson-smile";
+	
+	// Preferência (RFC 7240) do cliente que aceita a criação assíncrona
+	public static final String PREFER = "Prefer";
+	public static final String PREFERENCE_APPLIED = "Preference-Applied";
+	public static final String PREFER_RESPOND_ASYNC = "respond-async";
+	
 	@Autowired
 	private PersonServices service;
 	// private PersonServices service = new PersonServices();
 	
+	// Só existe com person.ingestion.async.enabled
+	@Autowired
+	private ObjectProvider<PersonIngestionService> ingestion;
+	
+	@Value("${person.pagination.default-limit:50}")
+	private int defaultLimit = 50;
+	
+	@Value("${person.pagination.max-limit:1000}")
+	private int maxLimit = 1000;
+	
 //	@RequestMapping(method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
-	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-	public List<Person> findAll() {
-		return service.findAll();
+	@GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, SMILE_VALUE })
+	public ResponseEntity<List<Person>> findAll(
+			@RequestParam(value = "after", required = false) Long after,
+			@RequestParam(value = "limit", required = false) Integer limit) {
+		int pageSize = pageSize(limit);
+		return page(service.findAll(after, pageSize), pageSize, Person::getId);
+	}
+	
+	// Sparse fieldsets: GET /person?fields=id,email seleciona e escreve só essas colunas (o id vai sempre)
+	@GetMapping(params = "fields", produces = { MediaType.APPLICATION_JSON_VALUE, SMILE_VALUE })
+	public ResponseEntity<List<Map<String, Object>>> findAll(
+			@RequestParam(value = "after", required = false) Long after,
+			@RequestParam(value = "limit", required = false) Integer limit,
+			@RequestParam(value = "fields") List<String> fields) {
+		int pageSize = pageSize(limit);
+		return page(service.findAll(after, pageSize, fields), pageSize, row -> (Long) row.get("id"));
+	}
+	
+	// Busca indexada: prefixo do nome ou sobrenome, email e gênero, todos sem diferenciar maiúsculas
+	@GetMapping(value = "/search", produces = { MediaType.APPLICATION_JSON_VALUE, SMILE_VALUE })
+	public ResponseEntity<List<Person>> search(
+			@RequestParam(value = "name", required = false) String name,
+			@RequestParam(value = "email", required = false) String email,
+			@RequestParam(value = "gender", required = false) String gender,
+			@RequestParam(value = "after", required = false) Long after,
+			@RequestParam(value = "limit", required = false) Integer limit) {
+		int pageSize = pageSize(limit);
+		return page(service.search(name, email, gender, after, pageSize), pageSize, Person::getId);
+	}
+	
+	@GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> export() {
+		// O corpo é escrito fora da thread do request, direto no stream de saída, sem montar a lista em memória
+		StreamingResponseBody body = out -> service.exportAll(out);
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
 	}
 	
 //	@RequestMapping(value = "/{id}", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
-	@GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<Person> findById(@PathVariable Long id) {
-		try {
-			return ResponseEntity.ok(service.findById(id));
-		} catch (Exception e) {
-			return ResponseEntity.notFound().build();
+	// ETag forte = versão da pessoa. Com If-None-Match a versão é conferida antes (cache ou SELECT só
+	// da coluna version) e, se não mudou, a resposta é 304 sem carregar nem serializar a entidade
+	@GetMapping(value = "/{id}", produces = { MediaType.APPLICATION_JSON_VALUE, SMILE_VALUE })
+	public ResponseEntity<Person> findById(@PathVariable Long id, WebRequest request) {
+		if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+			Optional<Long> version = service.findVersionById(id);
+			if (version.isPresent() && request.checkNotModified(etag(version.get()))) {
+				return null;
+			}
 		}
+		return service.findById(id)
+				.map(person -> ResponseEntity.ok().eTag(etag(person.getVersion())).body(person))
+				.orElseGet(() -> notFound(ResourceNotFoundException.FIND));
+	}
+	
+	// Sem ETag: a versão identifica a pessoa inteira, não cada recorte de campos dela
+	@GetMapping(value = "/{id}", params = "fields", produces = { MediaType.APPLICATION_JSON_VALUE, SMILE_VALUE })
+	public ResponseEntity<Map<String, Object>> findById(@PathVariable Long id, @RequestParam(value = "fields") List<String> fields) {
+		return service.findById(id, fields)
+				.map(ResponseEntity::ok)
+				.orElseGet(() -> notFound(ResourceNotFoundException.FIND));
 	}
 	
 //	@RequestMapping(method = RequestMethod.POST, consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-	@PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-	public Person create(@RequestBody Person person) {
-		return service.create(person);
+	// Com "Prefer: respond-async" a criação é assíncrona (PersonIngestionService): 202 com o id de acompanhamento e o
+	// Location do status. Sem o modo assíncrono ligado a preferência é ignorada, como permite a RFC 7240, e a criação é a
+	// síncrona. Fila cheia é 503 com Retry-After; o Tomcat fecha a conexão depois de um 503, o que aqui só reforça a pausa do cliente
+	@PostMapping(consumes = { MediaType.APPLICATION_JSON_VALUE, SMILE_VALUE }, produces = { MediaType.APPLICATION_JSON_VALUE, SMILE_VALUE })
+	public ResponseEntity<?> create(@RequestBody Person person, WebRequest request) {
+		PersonIngestionService ingestionService = prefersRespondAsync(request.getHeaderValues(PREFER))
+				? ingestion.getIfAvailable() : null;
+		if (ingestionService == null) {
+			return ResponseEntity.ok(service.create(person));
+		}
+		return ingestionService.submit(person)
+				.<ResponseEntity<?>>map(status -> ResponseEntity.accepted()
+						.location(ServletUriComponentsBuilder.fromCurrentRequest()
+								.path("/ingestion/{trackingId}").buildAndExpand(status.getTrackingId()).toUri())
+						.header(PREFERENCE_APPLIED, PREFER_RESPOND_ASYNC)
+						.body(status))
+				.orElseGet(() -> ResponseEntity.of(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE,
+								"Ingestion queue is full, retry later"))
+						.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_PROBLEM_JSON_VALUE)
+						.header(HttpHeaders.RETRY_AFTER, "1")
+						.build());
+	}
+	
+	// Resultado de uma criação assíncrona: QUEUED, CREATED (com o id da pessoa), DUPLICATED_EMAIL ou FAILED.
+	// 404 para ids desconhecidos ou já expirados (person.ingestion.status-ttl)
+	@GetMapping(value = "/ingestion/{trackingId}", produces = { MediaType.APPLICATION_JSON_VALUE, SMILE_VALUE })
+	public ResponseEntity<PersonIngestionStatus> findIngestionStatus(@PathVariable String trackingId) {
+		return Optional.ofNullable(ingestion.getIfAvailable())
+				.flatMap(ingestionService -> ingestionService.findStatus(trackingId))
+				.map(ResponseEntity::ok)
+				.orElseGet(() -> notFound(ResourceNotFoundException.INGESTION));
+	}
+	
+	@PostMapping(value = "/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, SMILE_VALUE }, produces = { MediaType.APPLICATION_JSON_VALUE, SMILE_VALUE })
+	public List<PersonBatchResult> createAll(@RequestBody List<Person> persons) {
+		return service.createAll(persons);
 	}
 	
 //	@RequestMapping(method = RequestMethod.PUT, consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-	@PutMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<Person> update(@RequestBody Person person) {
-		try {
-			return ResponseEntity.ok(service.update(person));
-		} catch (Exception e) {
-			return ResponseEntity.notFound().build();
+	@PutMapping(consumes = { MediaType.APPLICATION_JSON_VALUE, SMILE_VALUE }, produces = { MediaType.APPLICATION_JSON_VALUE, SMILE_VALUE })
+	public ResponseEntity<Person> update(@RequestBody Person person,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		// If-Match tem precedência sobre o campo "version" do corpo; "*" aceita qualquer versão
+		if (ifMatch != null) {
+			person.setVersion(parseETag(ifMatch));
 		}
+		// Email de outra pessoa (409), versão desatualizada (412) e falhas de infraestrutura (5xx)
+		// seguem como exceção para o CustomizedResponseEntityExceptionHandler
+		return service.update(person)
+				.map(updated -> ResponseEntity.ok().eTag(etag(updated.getVersion())).body(updated))
+				.orElseGet(() -> notFound(ResourceNotFoundException.UPDATE));
+	}
+	
+	// JSON Merge Patch (RFC 7396): só os campos presentes no corpo são gravados, num único UPDATE.
+	// Não relê a pessoa depois do UPDATE, por isso responde 204 sem corpo
+	@PatchMapping(value = "/{id}", consumes = { MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+	public ResponseEntity<?> patch(@PathVariable(value="id") Long id, @RequestBody Map<String, Object> patch) {
+		service.patch(id, patch);
+		return ResponseEntity.noContent().build();
 	}
 	
 //	@RequestMapping(value = "/{id}", method = RequestMethod.DELETE)
@@ -64,5 +199,70 @@ public class PersonController {
 		service.delete(id);
 		return ResponseEntity.noContent().build();
 	}
+	
+	// Remoção em massa: DELETE /person?ids=1,2,3 vira um único DELETE no banco.
+	// Ids inexistentes são ignorados e a resposta informa quantas pessoas foram removidas
+	@DeleteMapping(params = "ids", produces = { MediaType.APPLICATION_JSON_VALUE, SMILE_VALUE })
+	public ResponseEntity<Map<String, Integer>> deleteAll(@RequestParam(value = "ids") List<Long> ids) {
+		return ResponseEntity.ok(Map.of("deleted", service.deleteAll(ids)));
+	}
+	
+	// Uma chamada sem limite nunca carrega a tabela inteira: usa o padrão e respeita o máximo
+	private int pageSize(Integer limit) {
+		return limit == null ? defaultLimit : Math.min(Math.max(limit, 1), maxLimit);
+	}
+	
+	private <T> ResponseEntity<List<T>> page(List<T> items, int pageSize, Function<T, Long> idOf) {
+		if (items.size() < pageSize) {
+			return ResponseEntity.ok(items);
+		}
+		
+		// O cursor da próxima página é opaco para o cliente: basta seguir o link "next"
+		String next = ServletUriComponentsBuilder.fromCurrentRequest()
+				.replaceQueryParam("after", idOf.apply(items.get(items.size() - 1)))
+				.replaceQueryParam("limit", pageSize)
+				.toUriString();
+		return ResponseEntity.ok()
+				.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+				.body(items);
+	}
+	
+	// 404 no mesmo formato do CustomizedResponseEntityExceptionHandler (ProblemDetail), mas sem lançar exceção.
+	// A exceção compartilhada só fornece a mensagem. O Content-Type explícito vale mais que o "produces" do mapeamento
+	private static <T> ResponseEntity<T> notFound(ResourceNotFoundException notFound) {
+		return ResponseEntity.of(ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, notFound.getMessage()))
+				.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_PROBLEM_JSON_VALUE)
+				.build();
+	}
+	
+	private static String etag(Long version) {
+		return "\"" + version + "\"";
+	}
+	
+	// O Prefer pode vir repetido e com várias preferências separadas por vírgula, cada uma com valor e parâmetros
+	// opcionais ("respond-async, wait=10"); o nome da preferência não diferencia maiúsculas de minúsculas.
+	// Usado também pelo RateLimitFilter, que dá aos POSTs assíncronos um limite próprio
+	public static boolean prefersRespondAsync(String[] prefer) {
+		return prefer != null && Arrays.stream(prefer)
+				.flatMap(header -> Arrays.stream(header.split(",")))
+				.map(preference -> preference.split("[=;]", 2)[0].trim())
+				.anyMatch(PREFER_RESPOND_ASYNC::equalsIgnoreCase);
+	}
+	
+	// If-Match usa comparação forte: ETags fracos (W/"...") ou malformados nunca correspondem
+	private static Long parseETag(String ifMatch) {
+		String tag = ifMatch.trim();
+		if ("*".equals(tag)) {
+			return null;
+		}
+		if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+			try {
+				return Long.valueOf(tag.substring(1, tag.length() - 1));
+			} catch (NumberFormatException e) {
+				// cai no 412 abaixo
+			}
+		}
+		throw new PreconditionFailedException("If-Match does not match the current version: " + ifMatch);
+	}
 
 }
@@ -0,0 +1,90 @@
+package br.com.adriano.controllers;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import br.com.adriano.models.Person;
+import br.com.adriano.services.ReactivePersonServices;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Mesma superfície do PersonController, em WebFlux + R2DBC (--spring.profiles.active=reactive)
+@RestController
+@Profile("reactive")
+@RequestMapping("/person")
+public class ReactivePersonController {
+	
+	@Autowired
+	private ReactivePersonServices service;
+	
+	@Value("${person.pagination.default-limit:50}")
+	private int defaultLimit = 50;
+	
+	@Value("${person.pagination.max-limit:1000}")
+	private int maxLimit = 1000;
+	
+	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+	public Mono<ResponseEntity<List<Person>>> findAll(
+			@RequestParam(value = "after", required = false) Long after,
+			@RequestParam(value = "limit", required = false) Integer limit,
+			ServerHttpRequest request) {
+		int pageSize = limit == null ? defaultLimit : Math.min(Math.max(limit, 1), maxLimit);
+		
+		return service.findAll(after, pageSize).collectList().map(persons -> {
+			if (persons.size() < pageSize) {
+				return ResponseEntity.ok(persons);
+			}
+			String next = UriComponentsBuilder.fromUri(request.getURI())
+					.replaceQueryParam("after", persons.get(persons.size() - 1).getId())
+					.replaceQueryParam("limit", pageSize)
+					.toUriString();
+			return ResponseEntity.ok()
+					.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+					.body(persons);
+		});
+	}
+	
+	// Cada pessoa é escrita conforme o cliente consome: a demanda do socket controla a leitura do banco
+	@GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public Flux<Person> export() {
+		return service.streamAll();
+	}
+	
+	@GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public Mono<Person> findById(@PathVariable Long id) {
+		return service.findById(id);
+	}
+	
+	@PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+	public Mono<Person> create(@RequestBody Person person) {
+		return service.create(person);
+	}
+	
+	@PutMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+	public Mono<Person> update(@RequestBody Person person) {
+		return service.update(person);
+	}
+	
+	@DeleteMapping(value = "/{id}")
+	public Mono<ResponseEntity<Void>> delete(@PathVariable(value="id") Long id) {
+		return service.delete(id).then(Mono.just(ResponseEntity.noContent().<Void>build()));
+	}
+
+}
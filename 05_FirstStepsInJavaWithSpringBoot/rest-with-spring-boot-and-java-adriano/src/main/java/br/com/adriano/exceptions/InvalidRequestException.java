@@ -0,0 +1,15 @@
+package br.com.adriano.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Entrada inválida do cliente (400): um stack trace não ajudaria a diagnosticar nada, então não é capturado
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidRequestException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	public InvalidRequestException(String ex) {
+		super(ex, null, false, false);
+	}
+
+}
@@ -0,0 +1,19 @@
+package br.com.adriano.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Versão desatualizada (412) é parte normal do controle de concorrência otimista: sem stack trace
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	public PreconditionFailedException(String ex) {
+		super(ex, null, false, false);
+	}
+
+	public PreconditionFailedException(String ex, Throwable cause) {
+		super(ex, cause, false, false);
+	}
+
+}
@@ -3,16 +3,17 @@ package br.com.adriano.exceptions;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+// Conflito esperado (409): a causa, quando existe, é a violação do índice único e já traz o stack trace do driver
 @ResponseStatus(HttpStatus.CONFLICT)
 public class ResourceDuplicatedEmailException extends RuntimeException {
 	private static final long serialVersionUID = 1L;
 
 	public ResourceDuplicatedEmailException(String ex) {
-		super(ex);
+		super(ex, null, false, false);
 	}
 
 	public ResourceDuplicatedEmailException(String ex, Throwable cause) {
-		super(ex, cause);
+		super(ex, cause, false, false);
 	}
 
 }
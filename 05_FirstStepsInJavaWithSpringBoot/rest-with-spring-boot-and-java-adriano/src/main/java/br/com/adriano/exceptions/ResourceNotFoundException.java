@@ -3,14 +3,20 @@ package br.com.adriano.exceptions;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+// Erro esperado (404), não um defeito: sem stack trace, que custaria um frame por nível da pilha a cada busca sem resultado.
+// Como as mensagens são fixas e a exceção não tem estado mutável, as instâncias abaixo são compartilhadas
 @ResponseStatus(HttpStatus.NOT_FOUND)
 public class ResourceNotFoundException extends RuntimeException {
 	private static final long serialVersionUID = 1L;
 
+	public static final ResourceNotFoundException FIND = new ResourceNotFoundException("No records found for this ID for find");
+	public static final ResourceNotFoundException UPDATE = new ResourceNotFoundException("No records found for this ID for update");
+	public static final ResourceNotFoundException PATCH = new ResourceNotFoundException("No records found for this ID for patch");
+	public static final ResourceNotFoundException DELETE = new ResourceNotFoundException("No records found for this ID for delete");
+	public static final ResourceNotFoundException INGESTION = new ResourceNotFoundException("No ingestion found for this tracking ID");
+
 	public ResourceNotFoundException(String ex) {
-		super(ex);
+		super(ex, null, false, false);
 	}
 
-
-
 }
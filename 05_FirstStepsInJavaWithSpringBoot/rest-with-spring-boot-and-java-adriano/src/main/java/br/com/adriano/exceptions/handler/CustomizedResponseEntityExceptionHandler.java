@@ -1,32 +1,53 @@
 package br.com.adriano.exceptions.handler;
 
-import java.util.Date;
-
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
-import br.com.adriano.exceptions.ExceptionResponse;
+import br.com.adriano.exceptions.InvalidRequestException;
+import br.com.adriano.exceptions.PreconditionFailedException;
+import br.com.adriano.exceptions.ResourceDuplicatedEmailException;
 import br.com.adriano.exceptions.ResourceNotFoundException;
 
+// Todos os erros saem como RFC 7807 (application/problem+json), o mesmo formato que o ResponseEntityExceptionHandler
+// já usa para as exceções do Spring MVC. O Spring preenche "instance" com o caminho do request
 @ControllerAdvice
 @RestController
+@Profile("!reactive")
 public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExceptionHandler {
 	
 	@ExceptionHandler(Exception.class)
-	public final ResponseEntity<ExceptionResponse> handleAllExceptions(Exception ex, WebRequest request) {
-		ExceptionResponse exceptionResponse = new ExceptionResponse(new Date(), ex.getMessage(), request.getDescription(false));
-		return new ResponseEntity<>(exceptionResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+	public final ResponseEntity<ProblemDetail> handleAllExceptions(Exception ex) {
+		return problem(HttpStatus.INTERNAL_SERVER_ERROR, ex);
 	}
 	
 	@ExceptionHandler(ResourceNotFoundException.class)
-	public final ResponseEntity<ExceptionResponse> handleNotFoundExceptions(Exception ex, WebRequest request) {
-		ExceptionResponse exceptionResponse = new ExceptionResponse(new Date(), ex.getMessage(), request.getDescription(false));
-		return new ResponseEntity<>(exceptionResponse, HttpStatus.NOT_FOUND);
+	public final ResponseEntity<ProblemDetail> handleNotFoundExceptions(ResourceNotFoundException ex) {
+		return problem(HttpStatus.NOT_FOUND, ex);
+	}
+	
+	@ExceptionHandler(ResourceDuplicatedEmailException.class)
+	public final ResponseEntity<ProblemDetail> handleDuplicatedEmailExceptions(ResourceDuplicatedEmailException ex) {
+		return problem(HttpStatus.CONFLICT, ex);
+	}
+	
+	@ExceptionHandler(InvalidRequestException.class)
+	public final ResponseEntity<ProblemDetail> handleInvalidRequestExceptions(InvalidRequestException ex) {
+		return problem(HttpStatus.BAD_REQUEST, ex);
+	}
+	
+	@ExceptionHandler(PreconditionFailedException.class)
+	public final ResponseEntity<ProblemDetail> handlePreconditionFailedExceptions(PreconditionFailedException ex) {
+		return problem(HttpStatus.PRECONDITION_FAILED, ex);
+	}
+	
+	private static ResponseEntity<ProblemDetail> problem(HttpStatus status, Exception ex) {
+		return ResponseEntity.status(status).body(ProblemDetail.forStatusAndDetail(status, ex.getMessage()));
 	}
 
 }
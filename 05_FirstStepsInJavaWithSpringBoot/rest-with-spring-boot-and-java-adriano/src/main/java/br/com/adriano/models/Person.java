@@ -8,15 +8,27 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 
 @Entity
-@Table(name="person")
+@Table(name="person",
+	uniqueConstraints = @UniqueConstraint(name = Person.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email"),
+	indexes = @Index(name = "idx_person_first_name_last_name", columnList = "first_name, last_name"))
 public class Person implements Serializable{
 	private static final long serialVersionUID = 1L;
 	
+	// Nome do índice único em "email" (db/migration). É por ele que o service reconhece a violação de email duplicado
+	public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_person_email";
+	
+	// IDENTITY obriga o Hibernate a fazer um INSERT por vez para descobrir o id gerado.
+	// Com uma sequence "pooled" os ids são reservados de 50 em 50 e os INSERTs vão em lote (JDBC batch)
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "person_seq")
+	@SequenceGenerator(name = "person_seq", sequenceName = "person_seq", allocationSize = 50)
 	private Long id;
 	@Column(name="first_name", nullable = false, length = 80)
 	private String firstName;
@@ -28,6 +40,10 @@ public class Person implements Serializable{
 	private String gender;
 	@Column(nullable = false, length = 100)
 	private String email;
+	// Incrementada a cada UPDATE: o Hibernate inclui "AND version = ?" no WHERE e a API usa como ETag
+	@Version
+	@Column(nullable = false)
+	private Long version;
 	
 	public Person() {}
 	
@@ -96,6 +112,14 @@ public class Person implements Serializable{
 		this.email = email;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(address, email, firstName, gender, id, lastName);
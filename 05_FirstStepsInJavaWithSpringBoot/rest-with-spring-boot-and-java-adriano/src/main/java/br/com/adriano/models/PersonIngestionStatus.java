@@ -0,0 +1,68 @@
+package br.com.adriano.models;
+
+import java.io.Serializable;
+
+public class PersonIngestionStatus implements Serializable {
+	private static final long serialVersionUID = 1L;
+	
+	public enum Status {
+		QUEUED, CREATED, DUPLICATED_EMAIL, FAILED
+	}
+	
+	private String trackingId;
+	private Status status;
+	private Long id;
+	private String email;
+	private String message;
+	
+	public PersonIngestionStatus() {}
+
+	public PersonIngestionStatus(String trackingId, Status status, Long id, String email, String message) {
+		this.trackingId = trackingId;
+		this.status = status;
+		this.id = id;
+		this.email = email;
+		this.message = message;
+	}
+
+	public String getTrackingId() {
+		return trackingId;
+	}
+
+	public void setTrackingId(String trackingId) {
+		this.trackingId = trackingId;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public void setEmail(String email) {
+		this.email = email;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+	
+}
@@ -0,0 +1,17 @@
+package br.com.adriano.reposotories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Sparse fieldsets: each row is read as a tuple of only the requested columns, so the SELECT list,
+// the JDBC result set and the JSON written by Jackson carry nothing the client did not ask for.
+// The field names must already be validated against Person's attributes by the caller
+public interface PersonProjectionRepository {
+
+	// Same keyset page as findByIdGreaterThanOrderByIdAsc, but projecting only the given fields
+	List<Map<String, Object>> findFieldsByIdGreaterThan(Collection<String> fields, Long id, int limit);
+
+	Optional<Map<String, Object>> findFieldsById(Collection<String> fields, Long id);
+}
@@ -0,0 +1,66 @@
+package br.com.adriano.reposotories;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import br.com.adriano.models.Person;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+// Picked up by Spring Data as the implementation of the PersonProjectionRepository fragment
+class PersonProjectionRepositoryImpl implements PersonProjectionRepository {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<Map<String, Object>> findFieldsByIdGreaterThan(Collection<String> fields, Long id, int limit) {
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = builder.createTupleQuery();
+		Root<Person> root = query.from(Person.class);
+		select(query, root, fields)
+				.where(builder.greaterThan(root.<Long>get("id"), id))
+				.orderBy(builder.asc(root.get("id")));
+
+		return entityManager.createQuery(query).setMaxResults(limit).getResultList().stream()
+				.map(PersonProjectionRepositoryImpl::toMap)
+				.toList();
+	}
+
+	@Override
+	public Optional<Map<String, Object>> findFieldsById(Collection<String> fields, Long id) {
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = builder.createTupleQuery();
+		Root<Person> root = query.from(Person.class);
+		select(query, root, fields).where(builder.equal(root.get("id"), id));
+
+		return entityManager.createQuery(query).getResultList().stream()
+				.findFirst()
+				.map(PersonProjectionRepositoryImpl::toMap);
+	}
+
+	// Each column is aliased with its field name, which becomes the JSON property name
+	private static CriteriaQuery<Tuple> select(CriteriaQuery<Tuple> query, Root<Person> root, Collection<String> fields) {
+		return query.multiselect(fields.stream()
+				.<Selection<?>>map(field -> root.get(field).alias(field))
+				.toList());
+	}
+
+	// LinkedHashMap keeps the column order of the SELECT, and also keeps null values, as Person does
+	private static Map<String, Object> toMap(Tuple tuple) {
+		Map<String, Object> row = new LinkedHashMap<>();
+		for (TupleElement<?> element : tuple.getElements()) {
+			row.put(element.getAlias(), tuple.get(element));
+		}
+		return row;
+	}
+}
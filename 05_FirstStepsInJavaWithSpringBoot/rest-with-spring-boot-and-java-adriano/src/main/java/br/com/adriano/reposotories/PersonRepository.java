@@ -1,19 +1,62 @@
 package br.com.adriano.reposotories;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import br.com.adriano.models.Person;
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface PersonRepository extends JpaRepository<Person, Long> {
+public interface PersonRepository extends JpaRepository<Person, Long>, JpaSpecificationExecutor<Person>, PersonProjectionRepository {
 
 	Optional<Person> findByEmail(String email);
 	
+	// Checks a whole batch of emails in a single "IN (...)" round-trip, returning the ones already taken
+	@Query("SELECT p.email FROM Person p WHERE p.email IN :emails")
+	Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+	
+	// Keyset (seek) pagination: "WHERE id > ?1 ORDER BY id LIMIT ?2" walks the primary key index
+	// and never skips rows with OFFSET, so the cost of a page does not grow with its position
+	List<Person> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+	
+	// Streams the whole table in id order. Inside a read-only transaction the fetch size makes the
+	// PostgreSQL driver read through a server-side cursor instead of buffering every row in memory
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+		@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+		@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+	})
+	@Query("SELECT p FROM Person p ORDER BY p.id")
+	Stream<Person> streamAll();
+	
+	// Only the version column, for ETag checks that do not need the whole entity
+	@Query("SELECT p.version FROM Person p WHERE p.id = :id")
+	Optional<Long> findVersionById(@Param("id") Long id);
+	
+	// Single "DELETE ... WHERE id = ?" without loading the entity first. Returns the affected row count
+	@Modifying
+	@Query("DELETE FROM Person p WHERE p.id = :id")
+	int removeById(@Param("id") Long id);
+	
+	// Bulk delete in one statement: the ids travel as a single array parameter, so the
+	// statement does not hit PostgreSQL's limit of 32767 bind parameters
+	@Modifying
+	@Query(value = "DELETE FROM person WHERE id = ANY(:ids)", nativeQuery = true)
+	int removeAllByIds(@Param("ids") Long[] ids);
+	
 	// Define custom query using JPQL with index parameter (?1)
 	@Query("SELECT p FROM Person p WHERE p.firstName = ?1 AND p.lastName = ?2")
 	Person findByJPQL(String firstName, String lastName);
@@ -0,0 +1,50 @@
+package br.com.adriano.reposotories;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import br.com.adriano.models.Person;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+
+// Search filters for PersonRepository.findBy(Specification, ...). Each one compares lower(column),
+// matching the expression indexes created by V5__person_search_indexes.sql
+public final class PersonSpecifications {
+
+	private static final char LIKE_ESCAPE = '\\';
+
+	private PersonSpecifications() {
+	}
+
+	// Case-insensitive prefix of the first or the last name: "lower(first_name) LIKE 'ana%' OR lower(last_name) LIKE 'ana%'"
+	public static Specification<Person> nameStartsWith(String prefix) {
+		return (root, query, builder) -> {
+			String pattern = escapeLike(prefix.toLowerCase()) + "%";
+			return builder.or(
+					builder.like(builder.lower(root.get("firstName")), pattern, LIKE_ESCAPE),
+					builder.like(builder.lower(root.get("lastName")), pattern, LIKE_ESCAPE));
+		};
+	}
+
+	public static Specification<Person> emailEqualsIgnoreCase(String email) {
+		return (root, query, builder) -> equalsIgnoreCase(builder, root.get("email"), email);
+	}
+
+	public static Specification<Person> genderEqualsIgnoreCase(String gender) {
+		return (root, query, builder) -> equalsIgnoreCase(builder, root.get("gender"), gender);
+	}
+
+	// Keyset cursor, the same one used by findByIdGreaterThanOrderByIdAsc
+	public static Specification<Person> idGreaterThan(Long id) {
+		return (root, query, builder) -> builder.greaterThan(root.get("id"), id);
+	}
+
+	private static Predicate equalsIgnoreCase(CriteriaBuilder builder, Expression<String> column, String value) {
+		return builder.equal(builder.lower(column), value.toLowerCase());
+	}
+
+	// "%" and "_" typed by the client are literal characters, not wildcards
+	private static String escapeLike(String value) {
+		return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+	}
+}
@@ -0,0 +1,107 @@
+package br.com.adriano.reposotories;
+
+import java.util.function.BiFunction;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import br.com.adriano.models.Person;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Reactive (R2DBC) equivalent of PersonRepository, used only by the "reactive" profile.
+// It is a DatabaseClient-based class instead of a Spring Data interface because Person is a JPA @Entity:
+// in the servlet mode Spring Data JPA would claim a ReactiveCrudRepository<Person, Long> and fail at startup
+@Repository
+@Profile("reactive")
+public class ReactivePersonRepository {
+
+	private static final String COLUMNS = "id, first_name, last_name, address, gender, email, version";
+	
+	private static final BiFunction<Row, RowMetadata, Person> MAPPER = (row, metadata) -> {
+		Person person = new Person(
+				row.get("id", Long.class),
+				row.get("first_name", String.class),
+				row.get("last_name", String.class),
+				row.get("address", String.class),
+				row.get("gender", String.class),
+				row.get("email", String.class));
+		person.setVersion(row.get("version", Long.class));
+		return person;
+	};
+	
+	private final DatabaseClient client;
+	
+	public ReactivePersonRepository(DatabaseClient client) {
+		this.client = client;
+	}
+	
+	// Same keyset (seek) page as PersonRepository.findByIdGreaterThanOrderByIdAsc
+	public Flux<Person> findByIdGreaterThanOrderByIdAsc(Long id, int limit) {
+		return client.sql("SELECT " + COLUMNS + " FROM person WHERE id > :id ORDER BY id LIMIT :limit")
+				.bind("id", id)
+				.bind("limit", limit)
+				.map(MAPPER)
+				.all();
+	}
+	
+	// Whole table in id order. The fetch size makes the driver pull rows from a portal in chunks,
+	// driven by downstream demand (backpressure) instead of reading the full result set
+	public Flux<Person> streamAll() {
+		return client.sql("SELECT " + COLUMNS + " FROM person ORDER BY id")
+				.filter((statement, next) -> next.execute(statement.fetchSize(500)))
+				.map(MAPPER)
+				.all();
+	}
+	
+	public Mono<Person> findById(Long id) {
+		return client.sql("SELECT " + COLUMNS + " FROM person WHERE id = :id")
+				.bind("id", id)
+				.map(MAPPER)
+				.one();
+	}
+	
+	public Mono<Person> findByEmail(String email) {
+		return client.sql("SELECT " + COLUMNS + " FROM person WHERE email = :email")
+				.bind("email", email)
+				.map(MAPPER)
+				.first();
+	}
+	
+	// Ids come from the same person_seq used by Hibernate. Its pooled optimizer only hands out the
+	// block ending at each value it fetches, so a value taken here never collides with the JPA side
+	public Mono<Person> insert(Person person) {
+		return client.sql("INSERT INTO person (id, first_name, last_name, address, gender, email) "
+					+ "VALUES (nextval('person_seq'), :firstName, :lastName, :address, :gender, :email) RETURNING " + COLUMNS)
+				.bind("firstName", person.getFirstName())
+				.bind("lastName", person.getLastName())
+				.bind("address", person.getAddress())
+				.bind("gender", person.getGender())
+				.bind("email", person.getEmail())
+				.map(MAPPER)
+				.one();
+	}
+	
+	public Mono<Person> update(Person person) {
+		return client.sql("UPDATE person SET first_name = :firstName, last_name = :lastName, address = :address, "
+					+ "gender = :gender, email = :email, version = version + 1 WHERE id = :id RETURNING " + COLUMNS)
+				.bind("id", person.getId())
+				.bind("firstName", person.getFirstName())
+				.bind("lastName", person.getLastName())
+				.bind("address", person.getAddress())
+				.bind("gender", person.getGender())
+				.bind("email", person.getEmail())
+				.map(MAPPER)
+				.one();
+	}
+	
+	public Mono<Long> deleteById(Long id) {
+		return client.sql("DELETE FROM person WHERE id = :id")
+				.bind("id", id)
+				.fetch()
+				.rowsUpdated();
+	}
+}
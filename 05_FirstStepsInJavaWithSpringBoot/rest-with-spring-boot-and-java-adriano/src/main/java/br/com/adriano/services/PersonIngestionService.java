@@ -0,0 +1,209 @@
+package br.com.adriano.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.adriano.exceptions.ResourceDuplicatedEmailException;
+import br.com.adriano.models.Person;
+import br.com.adriano.models.PersonBatchResult;
+import br.com.adriano.models.PersonIngestionStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Criação assíncrona (write-behind) para cargas em massa: o POST /person com "Prefer: respond-async" só enfileira a
+// pessoa e responde 202 com um id de acompanhamento. Uma thread esvazia a fila em lotes de até batch-size pessoas,
+// esperando até linger para completar um lote, e grava cada lote pelo createAll (JDBC batch e uma consulta de
+// duplicados por lote). Com a fila cheia o submit recusa em vez de bloquear a thread do request.
+// O que está na fila só existe em memória: no encerramento a fila é esvaziada, mas uma queda do processo perde os itens
+@Service
+@Profile("!reactive")
+@ConditionalOnProperty(name = "person.ingestion.async.enabled", havingValue = "true")
+public class PersonIngestionService implements SmartLifecycle {
+	private Logger logger = Logger.getLogger(PersonIngestionService.class.getName());
+	
+	// Espera máxima da thread por um item com a fila vazia, para perceber o stop()
+	private static final long IDLE_POLL_MILLIS = 100;
+	private static final String FAILED_MESSAGE = "Could not create the person";
+
+	private final PersonServices services;
+	private final BlockingQueue<Pending> queue;
+	private final int batchSize;
+	private final long lingerNanos;
+	// Resultado de cada item até status-ttl depois da última mudança (e no máximo status-max-size itens),
+	// para o GET /person/ingestion/{trackingId}
+	private final Cache<String, PersonIngestionStatus> statuses;
+	private volatile boolean running;
+	private Thread drainer;
+
+	public PersonIngestionService(PersonServices services,
+			@Value("${person.ingestion.queue-capacity:10000}") int queueCapacity,
+			@Value("${person.ingestion.batch-size:500}") int batchSize,
+			@Value("${person.ingestion.linger:50ms}") Duration linger,
+			@Value("${person.ingestion.status-ttl:10m}") Duration statusTtl,
+			@Value("${person.ingestion.status-max-size:100000}") long statusMaxSize,
+			MeterRegistry registry) {
+		this.services = services;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.batchSize = batchSize;
+		this.lingerNanos = linger.toNanos();
+		this.statuses = Caffeine.newBuilder()
+				.maximumSize(statusMaxSize)
+				.expireAfterWrite(statusTtl)
+				.build();
+		Gauge.builder("person.ingestion.queue.size", queue, BlockingQueue::size)
+				.description("Pessoas aguardando gravação assíncrona")
+				.register(registry);
+	}
+
+	// Id de acompanhamento, ou vazio quando a fila está cheia
+	public Optional<PersonIngestionStatus> submit(Person person) {
+		logger.fine("Method submit");
+
+		if (!running) {
+			return Optional.empty();
+		}
+		String trackingId = UUID.randomUUID().toString();
+		PersonIngestionStatus status = new PersonIngestionStatus(trackingId, PersonIngestionStatus.Status.QUEUED, null,
+				person.getEmail(), null);
+		statuses.put(trackingId, status);
+		if (!queue.offer(new Pending(trackingId, person))) {
+			statuses.invalidate(trackingId);
+			return Optional.empty();
+		}
+		return Optional.of(status);
+	}
+
+	public Optional<PersonIngestionStatus> findStatus(String trackingId) {
+		logger.fine("Method findStatus");
+
+		return Optional.ofNullable(statuses.getIfPresent(trackingId));
+	}
+
+	@Override
+	public synchronized void start() {
+		if (!running) {
+			running = true;
+			drainer = Thread.ofPlatform().name("person-ingestion").start(this::drain);
+		}
+	}
+
+	// Para de aceitar e espera a thread gravar o que já estava na fila. Sem interrupt, que poderia cair no meio da
+	// espera por uma conexão do Hikari
+	@Override
+	public synchronized void stop() {
+		if (running) {
+			running = false;
+			try {
+				drainer.join();
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	// Sobe antes e para depois do servidor web: não chega request depois do stop() com a fila já esvaziada
+	@Override
+	public int getPhase() {
+		return SmartLifecycle.DEFAULT_PHASE - 4096;
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	private void drain() {
+		List<Pending> batch = new ArrayList<>(batchSize);
+		boolean interrupted = false;
+		while (!interrupted && (running || !queue.isEmpty())) {
+			try {
+				nextBatch(batch);
+			} catch (InterruptedException ex) {
+				interrupted = true;
+			}
+			if (!batch.isEmpty()) {
+				write(batch);
+				batch.clear();
+			}
+		}
+	}
+
+	// Espera o primeiro item e, a partir dele, até linger pelos seguintes ou até completar o lote
+	void nextBatch(List<Pending> batch) throws InterruptedException {
+		Pending first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+		if (first == null) {
+			return;
+		}
+		batch.add(first);
+		long deadline = System.nanoTime() + lingerNanos;
+		while (batch.size() < batchSize) {
+			if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+				continue;
+			}
+			long remaining = deadline - System.nanoTime();
+			Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+			if (next == null) {
+				return;
+			}
+			batch.add(next);
+		}
+	}
+
+	void write(List<Pending> batch) {
+		try {
+			List<PersonBatchResult> results = services.createAll(batch.stream().map(Pending::person).toList());
+			for (PersonBatchResult result : results) {
+				Pending pending = batch.get(result.getIndex());
+				complete(pending, result.getStatus() == PersonBatchResult.Status.CREATED
+						? PersonIngestionStatus.Status.CREATED : PersonIngestionStatus.Status.DUPLICATED_EMAIL,
+						result.getId(), result.getMessage());
+			}
+		} catch (ResourceDuplicatedEmailException ex) {
+			// Um email do lote foi inserido por outro request depois da consulta de duplicados e o lote inteiro
+			// voltou: grava um a um para saber qual
+			batch.forEach(this::writeOne);
+		} catch (RuntimeException ex) {
+			// Uma pessoa inválida (campo nulo, valor maior que a coluna) derruba o lote inteiro: grava um a um para
+			// que só ela falhe, e não os outros clientes do lote
+			logger.log(Level.WARNING, "Could not write a batch of " + batch.size() + " persons, writing one by one", ex);
+			batch.forEach(this::writeOne);
+		}
+	}
+
+	private void writeOne(Pending pending) {
+		try {
+			Person created = services.create(pending.person());
+			complete(pending, PersonIngestionStatus.Status.CREATED, created.getId(), null);
+		} catch (ResourceDuplicatedEmailException ex) {
+			complete(pending, PersonIngestionStatus.Status.DUPLICATED_EMAIL, null, ex.getMessage());
+		} catch (RuntimeException ex) {
+			// A mensagem do JDBC/Hibernate fica só no log: o status é público para quem tiver o trackingId
+			logger.log(Level.WARNING, "Could not create person " + pending.trackingId(), ex);
+			complete(pending, PersonIngestionStatus.Status.FAILED, null, FAILED_MESSAGE);
+		}
+	}
+
+	private void complete(Pending pending, PersonIngestionStatus.Status status, Long id, String message) {
+		statuses.put(pending.trackingId(), new PersonIngestionStatus(pending.trackingId(), status, id,
+				pending.person().getEmail(), message));
+	}
+
+	record Pending(String trackingId, Person person) {}
+}
@@ -1,26 +1,90 @@
 package br.com.adriano.services;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import br.com.adriano.config.CacheConfig;
+import br.com.adriano.exceptions.InvalidRequestException;
+import br.com.adriano.exceptions.PreconditionFailedException;
 import br.com.adriano.exceptions.ResourceDuplicatedEmailException;
 import br.com.adriano.exceptions.ResourceNotFoundException;
 import br.com.adriano.models.Person;
+import br.com.adriano.models.PersonBatchResult;
 import br.com.adriano.reposotories.PersonRepository;
+import br.com.adriano.reposotories.PersonSpecifications;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
 
+// Um timer por método (tags "class" e "method"), registrado pelo TimedAspect do Actuator
+@Timed("person.service")
 @Service
+@Profile("!reactive")
 public class PersonServices {
 	private Logger logger = Logger.getLogger(PersonServices.class.getName());
 	
+	// Quantidade de emails por consulta "IN (...)" e de entidades por flush/clear no createAll.
+	// O PostgreSQL aceita no máximo 32767 parâmetros por comando
+	private static final int BATCH_CHUNK_SIZE = 1000;
+	
+	// Campos que um PATCH pode alterar; o id nunca muda
+	private static final Set<String> PATCHABLE_FIELDS = Set.of("firstName", "lastName", "address", "gender", "email");
+	
+	// Campos que podem ser pedidos em ?fields=, na ordem em que são escritos no JSON
+	private static final List<String> PROJECTABLE_FIELDS = List.of("id", "firstName", "lastName", "address", "gender", "email", "version");
+	
 	@Autowired
 	PersonRepository repository;
 	
+	@Autowired
+	private ObjectMapper mapper;
+	
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	@Autowired
+	private CacheManager cacheManager;
+	
+	@Transactional(readOnly = true)
 	public List<Person> findAll() {
-		logger.info("Method findAll");
+		logger.fine("Method findAll");
 //		List<Person> persons = new ArrayList<Person>();
 		
 		// Mocking a person
@@ -31,9 +95,72 @@ public class PersonServices {
 		
 		return repository.findAll();
 	}
+	
+	@Transactional(readOnly = true)
+	public List<Person> findAll(Long after, int limit) {
+		logger.fine("Method findAll page");
+		
+		return repository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, Limit.of(limit));
+	}
+
+	// Mesma página por keyset, mas o SELECT traz só as colunas pedidas e cada pessoa vira um Map com esses campos
+	@Transactional(readOnly = true)
+	public List<Map<String, Object>> findAll(Long after, int limit, Collection<String> fields) {
+		logger.fine("Method findAll fields");
+		
+		return repository.findFieldsByIdGreaterThan(projection(fields), after == null ? 0L : after, limit);
+	}
+
+	// Filtros combinados com AND; os ausentes (nulos ou em branco) são ignorados.
+	// Paginação por keyset como no findAll: sem OFFSET e sem o COUNT que uma Page exigiria
+	@Transactional(readOnly = true)
+	public List<Person> search(String name, String email, String gender, Long after, int limit) {
+		logger.fine("Method search");
+		
+		Specification<Person> spec = PersonSpecifications.idGreaterThan(after == null ? 0L : after);
+		if (StringUtils.hasText(name)) {
+			spec = spec.and(PersonSpecifications.nameStartsWith(name.strip()));
+		}
+		if (StringUtils.hasText(email)) {
+			spec = spec.and(PersonSpecifications.emailEqualsIgnoreCase(email.strip()));
+		}
+		if (StringUtils.hasText(gender)) {
+			spec = spec.and(PersonSpecifications.genderEqualsIgnoreCase(gender.strip()));
+		}
+		return repository.findBy(spec, query -> query.sortBy(Sort.by("id")).limit(limit).all());
+	}
+
+	// Escreve uma pessoa por linha (NDJSON) à medida que as linhas chegam do banco.
+	// Cada entidade é desanexada logo após ser escrita, então o uso de memória não cresce com a tabela
+	@Transactional(readOnly = true)
+	public void exportAll(OutputStream out) throws IOException {
+		logger.fine("Method exportAll");
+		
+		ObjectWriter writer = mapper.writerFor(Person.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		
+		try (Stream<Person> persons = repository.streamAll();
+				JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			generator.setRootValueSeparator(null);
+			
+			Iterator<Person> iterator = persons.iterator();
+			while (iterator.hasNext()) {
+				Person person = iterator.next();
+				writer.writeValue(generator, person);
+				generator.writeRaw('\n');
+				entityManager.detach(person);
+			}
+		}
+	}
 
-	public Person findById(Long id) {
-		logger.info("Method findById");
+	// Ausência não é erro: Optional vazio, que o controller responde com 404 sem lançar exceção.
+	// O cache guarda só pessoas encontradas; um id ainda não criado não fica marcado como inexistente.
+	// A transação não é read-only de propósito: com réplicas (ReadReplicaConfig) o que entra no cache compartilhado
+	// vem do primário, e não de uma réplica atrasada que ainda tem uma versão antiga ou uma pessoa já apagada
+	@Transactional
+	@Cacheable(cacheNames = CacheConfig.PERSON_CACHE, unless = "#result == null")
+	public Optional<Person> findById(Long id) {
+		logger.fine("Method findById");
 
 		// Mocking a person
 //		Person person = new Person();
@@ -43,24 +170,110 @@ public class PersonServices {
 //		person.setAddress("Rua 1");
 //		person.setGender("Male");
 		
-		return repository.findById(id).orElseThrow(() -> new ResourceNotFoundException("No records found for this ID for find"));
+		return repository.findById(id);
+	}
+	
+	// Não passa pelo cache de pessoas: a projeção é justamente para não carregar a entidade inteira
+	@Transactional(readOnly = true)
+	public Optional<Map<String, Object>> findById(Long id, Collection<String> fields) {
+		logger.fine("Method findById fields");
+		
+		return repository.findFieldsById(projection(fields), id);
+	}
+	
+	// Versão atual para responder If-None-Match sem carregar a entidade: vem do cache de pessoas
+	// quando ela já está lá, senão de um SELECT só da coluna version. Não é read-only pelo mesmo motivo do findById:
+	// uma réplica atrasada daria 304 para uma versão já substituída
+	@Transactional
+	public Optional<Long> findVersionById(Long id) {
+		logger.fine("Method findVersionById");
+		
+		Cache cache = cacheManager.getCache(CacheConfig.PERSON_CACHE);
+		Person cached = cache == null ? null : cache.get(id, Person.class);
+		if (cached != null) {
+			return Optional.of(cached.getVersion());
+		}
+		return repository.findVersionById(id);
 	}
 	
+	// INSERT otimista: o índice único em email é quem detecta o duplicado, sem SELECT prévio
+	// e sem janela de corrida entre a verificação e o INSERT
 	public Person create(Person person) {
-		logger.info("Method create");
+		logger.fine("Method create");
+		
+		// Id e versão são sempre gerados aqui: um POST nunca sobrescreve uma pessoa existente
+		person.setId(null);
+		person.setVersion(null);
+		try {
+			return repository.saveAndFlush(person);
+		} catch (DataIntegrityViolationException ex) {
+			throw translateDuplicatedEmail(ex, "Email already exists: " + person.getEmail());
+		}
+	}
+	
+	// Importação em lote: uma consulta de emails duplicados por bloco e INSERTs agrupados em JDBC batch
+	// (hibernate.jdbc.batch_size). Cada item recebe seu próprio resultado, na mesma ordem da entrada
+	@Transactional
+	public List<PersonBatchResult> createAll(List<Person> persons) {
+		logger.fine("Method createAll");
 		
-		Optional<Person> savedPerson = repository.findByEmail(person.getEmail());
+		PersonBatchResult[] results = new PersonBatchResult[persons.size()];
+		Set<String> batchEmails = new HashSet<>();
 		
-		if (savedPerson.isPresent()) {
-			throw new ResourceDuplicatedEmailException("Email already exists: " + person.getEmail(), new Throwable("Email already exists"));
+		for (int from = 0; from < persons.size(); from += BATCH_CHUNK_SIZE) {
+			List<Person> chunk = persons.subList(from, Math.min(from + BATCH_CHUNK_SIZE, persons.size()));
+			Set<String> existingEmails = repository.findExistingEmails(chunk.stream().map(Person::getEmail).toList());
+			
+			List<Person> toSave = new ArrayList<>(chunk.size());
+			List<Integer> toSaveIndexes = new ArrayList<>(chunk.size());
+			for (int i = 0; i < chunk.size(); i++) {
+				Person person = chunk.get(i);
+				int index = from + i;
+				if (existingEmails.contains(person.getEmail()) || !batchEmails.add(person.getEmail())) {
+					results[index] = new PersonBatchResult(index, PersonBatchResult.Status.DUPLICATED_EMAIL, null,
+							person.getEmail(), "Email already exists: " + person.getEmail());
+				} else {
+					person.setId(null);
+					toSave.add(person);
+					toSaveIndexes.add(index);
+				}
+			}
+			
+			List<Person> saved = repository.saveAll(toSave);
+			try {
+				// A consulta acima não enxerga inserts concorrentes: nesse caso o índice único rejeita o lote inteiro
+				repository.flush();
+			} catch (DataIntegrityViolationException ex) {
+				throw translateDuplicatedEmail(ex, "Email already exists: inserted concurrently by another request");
+			}
+			entityManager.clear();
+			
+			for (int i = 0; i < saved.size(); i++) {
+				Person person = saved.get(i);
+				int index = toSaveIndexes.get(i);
+				results[index] = new PersonBatchResult(index, PersonBatchResult.Status.CREATED, person.getId(),
+						person.getEmail(), null);
+			}
 		}
-		return repository.save(person);
+		return Arrays.asList(results);
 	}
 	
-	public Person update(Person person) {
-		logger.info("Method update");
+	// Se a pessoa recebida traz uma versão (If-Match ou o campo "version"), ela precisa ser a atual.
+	// Entre o SELECT e o UPDATE, o "AND version = ?" do Hibernate protege contra escritas concorrentes.
+	// Id inexistente devolve Optional vazio, como no findById. SELECT e UPDATE na mesma transação, no primário
+	@Transactional
+	@CachePut(cacheNames = CacheConfig.PERSON_CACHE, key = "#result.id", unless = "#result == null")
+	public Optional<Person> update(Person person) {
+		logger.fine("Method update");
 		
-		var entity = repository.findById(person.getId()).orElseThrow(() -> new ResourceNotFoundException("No records found for this ID for update"));
+		Optional<Person> found = person.getId() == null ? Optional.empty() : repository.findById(person.getId());
+		if (found.isEmpty()) {
+			return Optional.empty();
+		}
+		var entity = found.get();
+		if (person.getVersion() != null && !person.getVersion().equals(entity.getVersion())) {
+			throw new PreconditionFailedException("Person was modified by another request, current version: " + entity.getVersion());
+		}
 		
 		entity.setFirstName(person.getFirstName());
 		entity.setLastName(person.getLastName());
@@ -68,14 +281,111 @@ public class PersonServices {
 		entity.setGender(person.getGender());
 		entity.setEmail(person.getEmail());
 		
-		return repository.save(entity);
+		Person updated;
+		try {
+			updated = repository.saveAndFlush(entity);
+		} catch (DataIntegrityViolationException ex) {
+			throw translateDuplicatedEmail(ex, "Email already exists: " + person.getEmail());
+		} catch (OptimisticLockingFailureException ex) {
+			throw new PreconditionFailedException("Person was modified by another request", ex);
+		}
+		return Optional.of(updated);
+	}
+	
+	// JSON Merge Patch: um único "UPDATE person SET <campos enviados> WHERE id = ?", sem SELECT antes.
+	// A quantidade de linhas alteradas indica se o id existe
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.PERSON_CACHE, key = "#id")
+	public void patch(Long id, Map<String, Object> patch) {
+		logger.fine("Method patch");
+		
+		// Todas as colunas são NOT NULL, então "null" (remover o campo, na RFC 7396) é rejeitado
+		for (Map.Entry<String, Object> change : patch.entrySet()) {
+			if (!PATCHABLE_FIELDS.contains(change.getKey())) {
+				throw new InvalidRequestException("Field can not be patched: " + change.getKey());
+			}
+			if (!(change.getValue() instanceof String)) {
+				throw new InvalidRequestException("Field must be a non-null string: " + change.getKey());
+			}
+		}
+		
+		if (patch.isEmpty()) {
+			if (!repository.existsById(id)) {
+				throw ResourceNotFoundException.PATCH;
+			}
+			return;
+		}
+		
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaUpdate<Person> update = builder.createCriteriaUpdate(Person.class);
+		Root<Person> root = update.from(Person.class);
+		patch.forEach((field, value) -> update.set(root.<String>get(field), (String) value));
+		// O UPDATE em massa não passa pelo @Version, então a versão é incrementada aqui
+		update.set(root.<Long>get("version"), builder.sum(root.<Long>get("version"), 1L));
+		update.where(builder.equal(root.get("id"), id));
+		
+		int updated;
+		try {
+			updated = entityManager.createQuery(update).executeUpdate();
+		} catch (PersistenceException ex) {
+			throw translateDuplicatedEmail(ex, "Email already exists: " + patch.get("email"));
+		}
+		if (updated == 0) {
+			throw ResourceNotFoundException.PATCH;
+		}
 	}
 	
+	// Um único "DELETE ... WHERE id = ?": a entidade não é carregada só para ser removida
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.PERSON_CACHE, key = "#id")
 	public void delete(Long id) {
-		logger.info("Method delete");
-		var entity = repository.findById(id).orElseThrow(() -> new ResourceNotFoundException("No records found for this ID for delete"));
+		logger.fine("Method delete");
+		
+		if (repository.removeById(id) == 0) {
+			throw ResourceNotFoundException.DELETE;
+		}
+	}
+	
+	// Remoção em massa num único DELETE. Ids inexistentes são ignorados; retorna quantas linhas saíram
+	@Transactional
+	public int deleteAll(List<Long> ids) {
+		logger.fine("Method deleteAll");
+		
+		if (ids.isEmpty()) {
+			throw new InvalidRequestException("At least one id is required");
+		}
 		
-		repository.delete(entity);
+		int deleted = repository.removeAllByIds(ids.toArray(Long[]::new));
+		
+		Cache cache = cacheManager.getCache(CacheConfig.PERSON_CACHE);
+		if (cache != null) {
+			ids.forEach(cache::evict);
+		}
+		return deleted;
+	}
+	
+	// O id vai sempre, para o cliente saber de quem são os campos e para o cursor da próxima página
+	private List<String> projection(Collection<String> fields) {
+		for (String field : fields) {
+			if (!PROJECTABLE_FIELDS.contains(field)) {
+				throw new InvalidRequestException("Unknown field: " + field);
+			}
+		}
+		return PROJECTABLE_FIELDS.stream()
+				.filter(field -> field.equals("id") || fields.contains(field))
+				.toList();
+	}
+	
+	// Só a violação do índice único de email vira 409; qualquer outra violação de integridade segue adiante
+	// Recebe a exceção já traduzida pelo repositório (DataIntegrityViolationException) ou a do EntityManager
+	private RuntimeException translateDuplicatedEmail(RuntimeException ex, String message) {
+		for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+			if (cause instanceof ConstraintViolationException violation
+					&& Person.EMAIL_UNIQUE_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName())) {
+				return new ResourceDuplicatedEmailException(message, ex);
+			}
+		}
+		return ex;
 	}
 	
 //	private Person mockPerson(int i) {
@@ -0,0 +1,73 @@
+package br.com.adriano.services;
+
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import br.com.adriano.exceptions.ResourceDuplicatedEmailException;
+import br.com.adriano.exceptions.ResourceNotFoundException;
+import br.com.adriano.models.Person;
+import br.com.adriano.reposotories.ReactivePersonRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+public class ReactivePersonServices {
+	private Logger logger = Logger.getLogger(ReactivePersonServices.class.getName());
+	
+	@Autowired
+	ReactivePersonRepository repository;
+	
+	public Flux<Person> findAll(Long after, int limit) {
+		logger.fine("Method findAll page");
+		
+		return repository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, limit);
+	}
+	
+	public Flux<Person> streamAll() {
+		logger.fine("Method streamAll");
+		
+		return repository.streamAll();
+	}
+	
+	public Mono<Person> findById(Long id) {
+		logger.fine("Method findById");
+		
+		return repository.findById(id)
+				.switchIfEmpty(Mono.error(ResourceNotFoundException.FIND));
+	}
+	
+	public Mono<Person> create(Person person) {
+		logger.fine("Method create");
+		
+		// Assim como no modo servlet, o índice único em email detecta o duplicado no próprio INSERT
+		return repository.insert(person)
+				.onErrorMap(DuplicateKeyException.class, ex -> duplicatedEmail(person, ex));
+	}
+	
+	public Mono<Person> update(Person person) {
+		logger.fine("Method update");
+		
+		return repository.update(person)
+				.onErrorMap(DuplicateKeyException.class, ex -> duplicatedEmail(person, ex))
+				.switchIfEmpty(Mono.error(ResourceNotFoundException.UPDATE));
+	}
+	
+	public Mono<Void> delete(Long id) {
+		logger.fine("Method delete");
+		
+		return repository.deleteById(id)
+				.flatMap(deleted -> deleted == 0
+						? Mono.<Void>error(ResourceNotFoundException.DELETE)
+						: Mono.<Void>empty());
+	}
+	
+	// O id vem da sequence, então o único índice único que um INSERT/UPDATE pode violar é o de email
+	private ResourceDuplicatedEmailException duplicatedEmail(Person person, Throwable cause) {
+		return new ResourceDuplicatedEmailException("Email already exists: " + person.getEmail(), cause);
+	}
+}
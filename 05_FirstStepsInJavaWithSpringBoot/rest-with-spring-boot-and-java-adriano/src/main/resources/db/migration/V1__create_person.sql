@@ -0,0 +1,17 @@
+-- Esquema inicial de "person". Bancos criados antes pelo Hibernate (ddl-auto=update) já possuem a tabela,
+-- por isso os comandos são idempotentes e a baseline do Flyway fica na versão 0
+
+CREATE SEQUENCE IF NOT EXISTS person_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS person (
+	id bigint NOT NULL,
+	first_name varchar(80) NOT NULL,
+	last_name varchar(80) NOT NULL,
+	address varchar(100) NOT NULL,
+	gender varchar(6) NOT NULL,
+	email varchar(100) NOT NULL,
+	CONSTRAINT person_pkey PRIMARY KEY (id)
+);
+
+-- Linhas inseridas na época do IDENTITY não passaram pela sequence: avança a sequence para depois do maior id
+SELECT setval('person_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM person), (SELECT last_value FROM person_seq)));
@@ -0,0 +1,3 @@
+-- Email único garantido pelo banco: o INSERT/UPDATE é otimista e a violação vira HTTP 409 no service.
+-- Falha se já existirem emails duplicados na tabela, que precisam ser resolvidos antes da migração
+CREATE UNIQUE INDEX IF NOT EXISTS uk_person_email ON person (email);
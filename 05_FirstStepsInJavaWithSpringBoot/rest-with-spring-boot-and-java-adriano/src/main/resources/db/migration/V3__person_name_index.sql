@@ -0,0 +1,4 @@
+-- Índice das consultas por nome (findByJPQL e findByNativeSQL). As consultas por email usam uk_person_email
+-- e as por id (findById, paginação keyset e export) usam a chave primária.
+-- CONCURRENTLY não bloqueia escritas durante a criação; o Flyway executa este script fora de transação
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_person_first_name_last_name ON person (first_name, last_name);
@@ -0,0 +1,3 @@
+-- Versão para controle de concorrência otimista (@Version) e para os ETags de /person/{id}.
+-- Com DEFAULT constante o PostgreSQL não reescreve a tabela ao adicionar a coluna
+ALTER TABLE person ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
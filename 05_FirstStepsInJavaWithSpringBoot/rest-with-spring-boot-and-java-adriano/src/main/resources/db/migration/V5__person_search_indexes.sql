@@ -0,0 +1,6 @@
+-- Índices da busca GET /person/search. Os filtros comparam lower(coluna), então só índices de expressão atendem.
+-- text_pattern_ops permite que "lower(coluna) LIKE 'pre%'" use o índice qualquer que seja a collation do banco.
+-- Gênero não tem índice próprio: com poucos valores distintos o planejador preferiria a chave primária de qualquer forma
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_person_lower_first_name ON person (lower(first_name) text_pattern_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_person_lower_last_name ON person (lower(last_name) text_pattern_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_person_lower_email ON person (lower(email));
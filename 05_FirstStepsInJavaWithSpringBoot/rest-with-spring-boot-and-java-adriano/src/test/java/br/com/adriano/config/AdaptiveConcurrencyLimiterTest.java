@@ -0,0 +1,68 @@
+package br.com.adriano.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+	private static final long RTT = TimeUnit.MILLISECONDS.toNanos(5);
+
+	@DisplayName("JUnit test Given Limit Reached when TryAcquire then Reject")
+	@Test
+	void testGivenLimitReached_whenTryAcquire_thenReject() {
+		// Given / Arrange
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10);
+		limiter.tryAcquire();
+		limiter.tryAcquire();
+		
+		// When / Act / Then / Assert
+		assertEquals(-1, limiter.tryAcquire());
+		limiter.release();
+		assertEquals(1, limiter.tryAcquire());
+	}
+
+	@DisplayName("JUnit test Given Steady Latency at Limit when Release then Increase Limit")
+	@Test
+	void testGivenSteadyLatencyAtLimit_whenRelease_thenIncreaseLimit() {
+		// Given / Arrange
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 5, 100);
+		
+		// When / Act
+		for (int i = 0; i < 20; i++) {
+			int inFlight = limiter.tryAcquire();
+			limiter.release(RTT, limiter.getLimit(), false);
+			assertEquals(0, inFlight);
+		}
+		
+		// Then / Assert
+		assertEquals(30, limiter.getLimit());
+	}
+
+	@DisplayName("JUnit test Given Growing Latency or Errors when Release then Decrease Limit Down to Min")
+	@Test
+	void testGivenGrowingLatencyOrErrors_whenRelease_thenDecreaseLimitDownToMin() {
+		// Given / Arrange
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 5, 100);
+		limiter.tryAcquire();
+		limiter.release(RTT, 50, false);
+		int limit = limiter.getLimit();
+		
+		// When / Act
+		limiter.tryAcquire();
+		limiter.release(RTT * 10, 50, false);
+		
+		// Then / Assert
+		assertTrue(limiter.getLimit() < limit, "limit " + limiter.getLimit());
+		for (int i = 0; i < 100; i++) {
+			limiter.tryAcquire();
+			limiter.release(RTT, 50, true);
+		}
+		assertEquals(5, limiter.getLimit());
+		assertEquals(0, limiter.getInFlight());
+	}
+}
@@ -0,0 +1,97 @@
+package br.com.adriano.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+class CompressionThresholdFilterTest {
+
+	private CompressionThresholdFilter filter;
+	private MockHttpServletRequest request;
+	private MockHttpServletResponse response;
+
+	@BeforeEach
+	void setUp() {
+		// Given / Arrange
+		filter = new CompressionThresholdFilter(DataSize.ofBytes(16));
+		request = new MockHttpServletRequest("GET", "/person/1");
+		response = new MockHttpServletResponse();
+	}
+
+	@DisplayName("JUnit test Given Body Below Threshold when Filter then Set Content Length")
+	@Test
+	void testGivenBodyBelowThreshold_whenFilter_thenSetContentLength() throws ServletException, IOException {
+		// When / Act
+		filter.doFilter(request, response, write("{\"id\":1}"));
+		
+		// Then / Assert
+		assertEquals("8", response.getHeader(HttpHeaders.CONTENT_LENGTH));
+		assertEquals("{\"id\":1}", response.getContentAsString());
+	}
+
+	@DisplayName("JUnit test Given Body Above Threshold when Filter then Stream Without Content Length")
+	@Test
+	void testGivenBodyAboveThreshold_whenFilter_thenStreamWithoutContentLength() throws ServletException, IOException {
+		// When / Act
+		filter.doFilter(request, response, write("{\"id\":1,", "\"email\":\"fulano@gmail.com\"}"));
+		
+		// Then / Assert
+		assertNull(response.getHeader(HttpHeaders.CONTENT_LENGTH));
+		assertEquals("{\"id\":1,\"email\":\"fulano@gmail.com\"}", response.getContentAsString());
+	}
+
+	@DisplayName("JUnit test Given Non Blocking Write when Set Write Listener then Delegate To Container Stream")
+	@Test
+	void testGivenNonBlockingWrite_whenSetWriteListener_thenDelegateToContainerStream() throws ServletException, IOException {
+		// Given / Arrange
+		ServletOutputStream containerStream = mock(ServletOutputStream.class);
+		given(containerStream.isReady()).willReturn(true);
+		HttpServletResponse containerResponse = new HttpServletResponseWrapper(response) {
+			@Override
+			public ServletOutputStream getOutputStream() {
+				return containerStream;
+			}
+		};
+		WriteListener listener = mock(WriteListener.class);
+		
+		// When / Act
+		filter.doFilter(request, containerResponse, (req, res) -> {
+			res.getOutputStream().setWriteListener(listener);
+			assertTrue(res.getOutputStream().isReady());
+		});
+		
+		// Then / Assert
+		verify(containerStream).setWriteListener(listener);
+		verify(containerStream).isReady();
+	}
+
+	// Escreve e dá flush a cada parte, como o conversor Jackson faz
+	private FilterChain write(String... parts) {
+		return (req, res) -> {
+			for (String part : parts) {
+				res.getOutputStream().write(part.getBytes());
+				res.getOutputStream().flush();
+			}
+		};
+	}
+}
@@ -0,0 +1,41 @@
+package br.com.adriano.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.annotation.AnnotatedBeanDefinitionReader;
+import org.springframework.context.annotation.ConfigurationClassPostProcessor;
+import org.springframework.mock.env.MockEnvironment;
+
+import br.com.adriano.GreetingController;
+import br.com.adriano.controllers.PersonController;
+
+class LazyInitializationConfigTest {
+
+	@DisplayName("JUnit test Given Lazy Classes when Post Process Bean Factory then Only Matching Beans Are Lazy")
+	@Test
+	void testGivenLazyClasses_whenPostProcessBeanFactory_thenOnlyMatchingBeansAreLazy() {
+		// Given / Arrange
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		AnnotatedBeanDefinitionReader reader = new AnnotatedBeanDefinitionReader(beanFactory);
+		reader.registerBean(GreetingController.class, "greetingController");
+		reader.registerBean(PersonController.class, "personController");
+		reader.registerBean(OpenAPIConfig.class, "openAPIConfig");
+		// Registra os métodos @Bean do OpenAPIConfig
+		new ConfigurationClassPostProcessor().postProcessBeanDefinitionRegistry(beanFactory);
+		MockEnvironment environment = new MockEnvironment()
+				.withProperty("person.startup.lazy.classes", "br.com.adriano.config.OpenAPIConfig,br.com.adriano.GreetingController");
+		
+		// When / Act
+		LazyInitializationConfig.lazyInitializationPostProcessor(environment).postProcessBeanFactory(beanFactory);
+		
+		// Then / Assert
+		assertTrue(beanFactory.getBeanDefinition("greetingController").isLazyInit());
+		assertTrue(beanFactory.getBeanDefinition("openAPIConfig").isLazyInit());
+		assertTrue(beanFactory.getBeanDefinition("customOpenAPI").isLazyInit());
+		assertFalse(beanFactory.getBeanDefinition("personController").isLazyInit());
+	}
+}
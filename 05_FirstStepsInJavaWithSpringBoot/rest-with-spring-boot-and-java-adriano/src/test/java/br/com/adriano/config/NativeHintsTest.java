@@ -0,0 +1,89 @@
+package br.com.adriano.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.adriano.models.PersonIngestionStatus;
+
+class NativeHintsTest {
+
+	@DisplayName("JUnit test Given Registrar when Register Hints then Caffeine Classes Are Instantiable")
+	@Test
+	void testGivenRegistrar_whenRegisterHints_thenCaffeineClassesAreInstantiable() {
+		// Given / Arrange
+		RuntimeHints hints = new RuntimeHints();
+		
+		// When / Act
+		new NativeHints.Registrar().registerHints(hints, getClass().getClassLoader());
+		
+		// Then / Assert
+		for (String className : NativeHints.CAFFEINE_GENERATED_CLASSES) {
+			assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(className)).test(hints), className);
+		}
+	}
+
+	// Protege contra uma atualização do Caffeine que mude os nomes das classes geradas. Fora do executável nativo: lê
+	// campos privados do Caffeine por reflexão, que os hints não registram
+	@DisplayName("JUnit test Given Rate Limit Cache Options when Build then Use Hinted Caffeine Classes")
+	@DisabledInNativeImage
+	@Test
+	void testGivenRateLimitCacheOptions_whenBuild_thenUseHintedCaffeineClasses() throws ReflectiveOperationException {
+		// Given / Arrange
+		Cache<String, TokenBucket> buckets = Caffeine.newBuilder()
+				.maximumSize(1000)
+				.expireAfterAccess(Duration.ofSeconds(3))
+				.build();
+		
+		// When / Act / Then / Assert
+		assertHinted(buckets);
+	}
+
+	// Fora do executável nativo pelo mesmo motivo: lê campos privados do Caffeine por reflexão
+	@DisplayName("JUnit test Given Ingestion Status Cache Options when Build then Use Hinted Caffeine Classes")
+	@DisabledInNativeImage
+	@Test
+	void testGivenIngestionStatusCacheOptions_whenBuild_thenUseHintedCaffeineClasses() throws ReflectiveOperationException {
+		// Given / Arrange
+		Cache<String, PersonIngestionStatus> statuses = Caffeine.newBuilder()
+				.maximumSize(100000)
+				.expireAfterWrite(Duration.ofMinutes(10))
+				.build();
+		
+		// When / Act / Then / Assert
+		assertHinted(statuses);
+	}
+
+	private static void assertHinted(Cache<?, ?> built) throws ReflectiveOperationException {
+		Object cache = field(built, "cache");
+		Object nodeFactory = field(cache, "nodeFactory");
+		
+		assertTrue(Arrays.asList(NativeHints.CAFFEINE_GENERATED_CLASSES).contains(cache.getClass().getName()), cache.getClass().getName());
+		assertTrue(Arrays.asList(NativeHints.CAFFEINE_GENERATED_CLASSES).contains(nodeFactory.getClass().getName()), nodeFactory.getClass().getName());
+	}
+
+	private static Object field(Object target, String name) throws ReflectiveOperationException {
+		for (Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+			try {
+				Field field = type.getDeclaredField(name);
+				field.setAccessible(true);
+				return field.get(target);
+			} catch (NoSuchFieldException ex) {
+				// procura na superclasse
+			}
+		}
+		throw new NoSuchFieldException(name);
+	}
+}
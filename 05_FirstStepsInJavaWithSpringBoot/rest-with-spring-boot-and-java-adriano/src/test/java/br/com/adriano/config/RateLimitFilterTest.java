@@ -0,0 +1,180 @@
+package br.com.adriano.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+
+class RateLimitFilterTest {
+
+	private RateLimitFilter filter;
+	private SimpleMeterRegistry registry;
+
+	@BeforeEach
+	void setUp() {
+		// Given / Arrange
+		registry = new SimpleMeterRegistry();
+		filter = new RateLimitFilter("X-API-Key", Set.of("fulano", "ciclano"), 1, 2, 1, 1, true, 1, 1, 1000, new ObjectMapper(), registry);
+	}
+
+	@DisplayName("JUnit test Given Burst Exhausted when Filter then Return 429 With Retry After")
+	@Test
+	void testGivenBurstExhausted_whenFilter_thenReturn429WithRetryAfter() throws ServletException, IOException {
+		// Given / Arrange
+		filter(get("/person/1", "fulano"));
+		filter(get("/person/2", "fulano"));
+		
+		// When / Act
+		MockHttpServletResponse response = filter(get("/person/3", "fulano"));
+		
+		// Then / Assert
+		assertEquals(429, response.getStatus());
+		assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+		assertEquals(1, registry.get("person.requests.rejected").tag("operation", "read").counter().count());
+	}
+
+	@DisplayName("JUnit test Given Burst Exhausted when Other Client or Endpoint then Return 200")
+	@Test
+	void testGivenBurstExhausted_whenOtherClientOrEndpoint_thenReturn200() throws ServletException, IOException {
+		// Given / Arrange
+		filter(get("/person/1", "fulano"));
+		filter(get("/person/1", "fulano"));
+		
+		// When / Act / Then / Assert
+		assertEquals(200, filter(get("/person/1", "ciclano")).getStatus());
+		assertEquals(200, filter(get("/person/search", "fulano")).getStatus());
+		assertEquals(200, filter(new MockHttpServletRequest("POST", "/person")).getStatus());
+		assertEquals(200, filter(get("/actuator/health", "fulano")).getStatus());
+	}
+
+	@DisplayName("JUnit test Given Burst Exhausted on Tracking Ids when Filter Other Tracking Id then Return 429")
+	@Test
+	void testGivenBurstExhaustedOnTrackingIds_whenFilterOtherTrackingId_thenReturn429() throws ServletException, IOException {
+		// Given / Arrange
+		filter(get("/person/ingestion/" + UUID.randomUUID(), "fulano"));
+		filter(get("/person/ingestion/" + UUID.randomUUID(), "fulano"));
+		
+		// When / Act
+		MockHttpServletResponse response = filter(get("/person/ingestion/" + UUID.randomUUID(), "fulano"));
+		
+		// Then / Assert
+		assertEquals(429, response.getStatus());
+	}
+
+	@DisplayName("JUnit test Given Burst Exhausted when Unknown Api Key From Same Address then Return 429")
+	@Test
+	void testGivenBurstExhausted_whenUnknownApiKeyFromSameAddress_thenReturn429() throws ServletException, IOException {
+		// Given / Arrange
+		filter(get("/person/1", "beltrano"));
+		filter(get("/person/1", "sicrano"));
+		
+		// When / Act
+		MockHttpServletResponse response = filter(get("/person/1", UUID.randomUUID().toString()));
+		
+		// Then / Assert
+		assertEquals(429, response.getStatus());
+		assertEquals(200, filter(get("/person/1", "fulano")).getStatus());
+	}
+
+	@DisplayName("JUnit test Given Burst Exhausted on Unmapped Paths when Filter Other Unmapped Path then Return 429")
+	@Test
+	void testGivenBurstExhaustedOnUnmappedPaths_whenFilterOtherUnmappedPath_thenReturn429() throws ServletException, IOException {
+		// Given / Arrange
+		filter(get("/person/abc", "fulano"));
+		filter(get("/person/1/abc", "fulano"));
+		
+		// When / Act
+		MockHttpServletResponse response = filter(get("/person/" + UUID.randomUUID(), "fulano"));
+		
+		// Then / Assert
+		assertEquals(429, response.getStatus());
+		assertEquals(200, filter(get("/person/1", "fulano")).getStatus());
+	}
+
+	@DisplayName("JUnit test Given Write Burst Exhausted when Filter Async Create then Return 200")
+	@Test
+	void testGivenWriteBurstExhausted_whenFilterAsyncCreate_thenReturn200() throws ServletException, IOException {
+		// Given / Arrange
+		filter(post("10.0.0.1", null));
+		
+		// When / Act / Then / Assert
+		assertEquals(429, filter(post("10.0.0.1", null)).getStatus());
+		assertEquals(200, filter(post("10.0.0.1", "wait=10, respond-async")).getStatus());
+		assertEquals(429, filter(post("10.0.0.1", "respond-async")).getStatus());
+		assertEquals(1, registry.get("person.requests.rejected").tag("operation", "ingestion").counter().count());
+	}
+
+	@DisplayName("JUnit test Given Default Properties when Bulk Async Create then Admit Ingestion Rate")
+	@Test
+	void testGivenDefaultProperties_whenBulkAsyncCreate_thenAdmitIngestionRate() throws IOException {
+		// Given / Arrange
+		// O application.properties de src/test/resources esconde o de src/main/resources, que é o que vai para produção
+		ResourcePropertySource defaults = new ResourcePropertySource(new EncodedResource(
+				new FileSystemResource("src/main/resources/application.properties"), StandardCharsets.UTF_8));
+		
+		new ApplicationContextRunner()
+				.withInitializer(context -> context.getEnvironment().getPropertySources().addFirst(defaults))
+				.withBean(ObjectMapper.class)
+				.withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+				.withUserConfiguration(RateLimitFilter.class)
+				.run(context -> {
+					filter = context.getBean(RateLimitFilter.class);
+					
+					// When / Act
+					int admitted = 0;
+					for (int i = 0; i < 1000; i++) {
+						admitted += filter(post("10.0.0.1", "respond-async")).getStatus() == 200 ? 1 : 0;
+					}
+					int admittedSync = 0;
+					for (int i = 0; i < 100; i++) {
+						admittedSync += filter(post("10.0.0.1", null)).getStatus() == 200 ? 1 : 0;
+					}
+					
+					// Then / Assert
+					assertEquals(1000, admitted);
+					assertTrue(admittedSync < 100);
+				});
+	}
+
+	private MockHttpServletResponse filter(MockHttpServletRequest request) throws ServletException, IOException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+
+	private static MockHttpServletRequest post(String remoteAddr, String prefer) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/person");
+		request.setRemoteAddr(remoteAddr);
+		if (prefer != null) {
+			request.addHeader("Prefer", prefer);
+		}
+		return request;
+	}
+
+	private static MockHttpServletRequest get(String uri, String apiKey) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+		request.addHeader("X-API-Key", apiKey);
+		return request;
+	}
+}
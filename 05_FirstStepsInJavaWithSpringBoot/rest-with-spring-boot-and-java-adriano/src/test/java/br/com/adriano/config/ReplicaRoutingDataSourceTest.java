@@ -0,0 +1,171 @@
+package br.com.adriano.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// No executável nativo (profile nativeTest) o Mockito não consegue gerar as classes dos mocks em tempo de execução
+@DisabledInNativeImage
+class ReplicaRoutingDataSourceTest {
+
+	private DataSource primary;
+	private DataSource replica0;
+	private DataSource replica1;
+	private Connection primaryConnection;
+	private Connection replica0Connection;
+	private Connection replica1Connection;
+	private ReplicaRoutingDataSource dataSource;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		// Given / Arrange
+		primary = mock(DataSource.class);
+		replica0 = mock(DataSource.class);
+		replica1 = mock(DataSource.class);
+		primaryConnection = mock(Connection.class);
+		replica0Connection = mock(Connection.class);
+		replica1Connection = mock(Connection.class, RETURNS_DEEP_STUBS);
+		given(primary.getConnection()).willReturn(primaryConnection);
+		given(replica0.getConnection()).willReturn(replica0Connection);
+		given(replica1.getConnection()).willReturn(replica1Connection);
+		
+		dataSource = new ReplicaRoutingDataSource(primary, List.of(replica0, replica1), Duration.ofSeconds(5), Duration.ofSeconds(5),
+				mock(ConfigurableApplicationContext.class));
+	}
+
+	@AfterEach
+	void tearDown() {
+		ReplicaRoutingDataSource.setPrimaryRequired(false);
+	}
+
+	@DisplayName("JUnit test Given Healthy Replicas when GetConnection then Round Robin")
+	@Test
+	void testGivenHealthyReplicas_whenGetConnection_thenRoundRobin() throws SQLException {
+		// When / Act / Then / Assert
+		assertSame(replica0Connection, dataSource.getConnection());
+		assertSame(replica1Connection, dataSource.getConnection());
+		assertSame(replica0Connection, dataSource.getConnection());
+	}
+
+	@DisplayName("JUnit test Given Failing Replicas when GetConnection then Fall Back to Primary")
+	@Test
+	void testGivenFailingReplicas_whenGetConnection_thenFallBackToPrimary() throws SQLException {
+		// Given / Arrange
+		given(replica0.getConnection()).willThrow(new SQLNonTransientConnectionException("Connection refused", "08001"));
+		given(replica1.getConnection()).willThrow(new SQLNonTransientConnectionException("Connection refused", "08001"));
+		
+		// When / Act
+		Connection connection = dataSource.getConnection();
+		
+		// Then / Assert
+		assertSame(primaryConnection, connection);
+		assertEquals(0, dataSource.getHealthyReplicas());
+	}
+
+	@DisplayName("JUnit test Given Exhausted Replica Pool when GetConnection then Fall Back Without Removing Replica")
+	@Test
+	void testGivenExhaustedReplicaPool_whenGetConnection_thenFallBackWithoutRemovingReplica() throws SQLException {
+		// Given / Arrange
+		given(replica0.getConnection()).willThrow(new SQLTransientConnectionException("Connection is not available, request timed out after 1000ms."));
+		
+		// When / Act
+		Connection connection = dataSource.getConnection();
+		
+		// Then / Assert
+		assertSame(replica1Connection, connection);
+		assertEquals(2, dataSource.getHealthyReplicas());
+	}
+
+	@DisplayName("JUnit test Given Unreachable Replica Behind Pool Timeout when GetConnection then Remove Replica")
+	@Test
+	void testGivenUnreachableReplicaBehindPoolTimeout_whenGetConnection_thenRemoveReplica() throws SQLException {
+		// Given / Arrange
+		given(replica0.getConnection()).willThrow(new SQLTransientConnectionException("Connection is not available, request timed out after 1000ms.", "08001"));
+		
+		// When / Act
+		Connection connection = dataSource.getConnection();
+		
+		// Then / Assert
+		assertSame(replica1Connection, connection);
+		assertEquals(1, dataSource.getHealthyReplicas());
+	}
+
+	@DisplayName("JUnit test Given Credentials when GetConnection then Route With Credentials")
+	@Test
+	void testGivenCredentials_whenGetConnection_thenRouteWithCredentials() throws SQLException {
+		// Given / Arrange
+		given(replica0.getConnection("reporting", "secret")).willReturn(replica0Connection);
+		given(primary.getConnection("reporting", "secret")).willReturn(primaryConnection);
+		
+		// When / Act / Then / Assert
+		assertSame(replica0Connection, dataSource.getConnection("reporting", "secret"));
+		ReplicaRoutingDataSource.setPrimaryRequired(true);
+		assertSame(primaryConnection, dataSource.getConnection("reporting", "secret"));
+	}
+
+	@DisplayName("JUnit test Given Recent Write when GetConnection then Use Primary")
+	@Test
+	void testGivenRecentWrite_whenGetConnection_thenUsePrimary() throws SQLException {
+		// Given / Arrange
+		ReplicaRoutingDataSource.setPrimaryRequired(true);
+		
+		// When / Act / Then / Assert
+		assertSame(primaryConnection, dataSource.getConnection());
+	}
+
+	@DisplayName("JUnit test Given Replica Down then Up when CheckReplicas then Update Rotation")
+	@Test
+	void testGivenReplicaDownThenUp_whenCheckReplicas_thenUpdateRotation() throws SQLException {
+		// Given / Arrange
+		given(replica0.getConnection()).willThrow(new SQLNonTransientConnectionException("Connection refused", "08001"));
+		given(replica1Connection.createStatement().executeQuery(anyString()).next()).willReturn(true);
+		
+		// When / Act
+		dataSource.checkReplicas();
+		
+		// Then / Assert
+		assertEquals(1, dataSource.getHealthyReplicas());
+		assertSame(replica1Connection, dataSource.getConnection());
+		assertSame(replica1Connection, dataSource.getConnection());
+	}
+
+	@DisplayName("JUnit test Given Started when Stop for Checkpoint then Restart on Restore")
+	@Test
+	void testGivenStarted_whenStopForCheckpoint_thenRestartOnRestore() throws Exception {
+		// Given / Arrange
+		dataSource.start();
+		
+		try {
+			// When / Act
+			dataSource.stop();
+			
+			// Then / Assert
+			assertFalse(dataSource.isRunning());
+			dataSource.start();
+			assertTrue(dataSource.isRunning());
+		} finally {
+			dataSource.close();
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package br.com.adriano.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.metrics.StartupStep;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// No executável nativo (profile nativeTest) o Mockito não consegue gerar as classes dos mocks em tempo de execução
+@DisabledInNativeImage
+class StartupTimelineReporterTest {
+
+	@DisplayName("JUnit test Given Recorded Startup when Application Ready then Write Timeline and Report Steps")
+	@Test
+	void testGivenRecordedStartup_whenApplicationReady_thenWriteTimelineAndReportSteps(@TempDir Path dir) throws IOException {
+		// Given / Arrange
+		BufferingApplicationStartup startup = new BufferingApplicationStartup(100);
+		StartupStep bean = startup.start("spring.beans.instantiate").tag("beanName", "entityManagerFactory");
+		startup.start("spring.data.repository.proxy").tag("repository", "PersonRepository").end();
+		bean.end();
+		ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+		given(context.getApplicationStartup()).willReturn(startup);
+		Path file = dir.resolve("timeline/startup-timeline.json");
+		StartupTimelineReporter reporter = new StartupTimelineReporter(new ObjectMapper().findAndRegisterModules(), file.toString(), 10);
+		
+		// When / Act
+		reporter.onReady(new ApplicationReadyEvent(new SpringApplication(), new String[0], context, Duration.ZERO));
+		String report = StartupTimelineReporter.report(startup.getBufferedTimeline(), 10);
+		
+		// Then / Assert
+		assertTrue(Files.readString(file).contains("\"beanName\""));
+		assertTrue(report.startsWith("Startup timeline: 2 steps"), report);
+		assertTrue(report.contains("spring.data.repository.proxy"), report);
+		assertTrue(report.contains("entityManagerFactory"), report);
+		assertTrue(report.contains("PersonRepository"), report);
+	}
+}
@@ -2,6 +2,7 @@ package br.com.adriano.controllers;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
@@ -16,10 +17,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -37,6 +40,8 @@ import br.com.adriano.exceptions.ResourceNotFoundException;
 import br.com.adriano.models.Person;
 import br.com.adriano.services.PersonServices;
 
+// No executável nativo (profile nativeTest) o Mockito não consegue gerar as classes dos mocks em tempo de execução
+@DisabledInNativeImage
 @ExtendWith(MockitoExtension.class) // Habilita mocks sem precisar do contexto Spring
 class PersonControllerAtualizadoTest {
 	
@@ -96,7 +101,7 @@ class PersonControllerAtualizadoTest {
 		// Given / Arrange
 		List<Person> persons = new ArrayList<>();
 		persons.addAll(Arrays.asList(person, person1));
-		given(service.findAll()).willReturn(persons);
+		given(service.findAll(any(), anyInt())).willReturn(persons);
 		
 		// When / Act
 		ResultActions response = mockMvc.perform(get("/person"));
@@ -112,7 +117,7 @@ class PersonControllerAtualizadoTest {
 	void testGivenPersonId_WhenFindById_thenReturnPersonObject() throws JsonProcessingException, Exception {
 		// Given / Arrange
 		long personId = 1L;
-		given(service.findById(anyLong())).willReturn(person);
+		given(service.findById(anyLong())).willReturn(Optional.of(person));
 		
 		// When / Act
 		ResultActions response = mockMvc.perform(get("/person/{id}", personId));
@@ -131,7 +136,7 @@ class PersonControllerAtualizadoTest {
 	void testGivenInvalidPersonId_WhenFindById_thenReturnNotFound() throws JsonProcessingException, Exception {
 		// Given / Arrange
 		long personId = 1L;
-		given(service.findById(personId)).willThrow(ResourceNotFoundException.class);
+		given(service.findById(personId)).willReturn(Optional.empty());
 		
 		// When / Act
 		ResultActions response = mockMvc.perform(get("/person/{id}", personId));
@@ -149,7 +154,7 @@ class PersonControllerAtualizadoTest {
 		// Given / Arrange
 //		long personId = 1L;
 //		given(service.findById(personId)).willReturn(person);
-		given(service.update(any(Person.class))).willAnswer((invocation) -> invocation.getArgument(0));
+		given(service.update(any(Person.class))).willAnswer((invocation) -> Optional.of(invocation.getArgument(0)));
 		
 		// When / Act
 		Person updatedPerson = new Person("Ciclano", "Araujo", "Recife - Pernambuco - Brasil", "Female", "ciclano@hotmail.com");
@@ -173,7 +178,7 @@ class PersonControllerAtualizadoTest {
 		// Given / Arrange
 //		long personId = 1L;
 //		given(service.findById(personId)).willThrow(ResourceNotFoundException.class);
-		given(service.update(any(Person.class))).willAnswer((invocation) -> invocation.getArgument(1));
+		given(service.update(any(Person.class))).willReturn(Optional.empty());
 		
 		// When / Act
 		Person updatedPerson = new Person("Ciclano", "Araujo", "Recife - Pernambuco - Brasil", "Female", "ciclano@hotmail.com");
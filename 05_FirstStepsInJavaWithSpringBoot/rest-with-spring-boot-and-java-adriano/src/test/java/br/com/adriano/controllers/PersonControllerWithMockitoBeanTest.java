@@ -1,38 +1,72 @@
 package br.com.adriano.controllers;
 
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
 import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.OutputStream;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 
+import br.com.adriano.exceptions.InvalidRequestException;
+import br.com.adriano.exceptions.PreconditionFailedException;
+import br.com.adriano.exceptions.ResourceDuplicatedEmailException;
 import br.com.adriano.exceptions.ResourceNotFoundException;
 import br.com.adriano.models.Person;
+import br.com.adriano.models.PersonBatchResult;
+import br.com.adriano.models.PersonIngestionStatus;
+import br.com.adriano.services.PersonIngestionService;
 import br.com.adriano.services.PersonServices;
 
+// No executável nativo (profile nativeTest) o Mockito não consegue gerar as classes dos mocks em tempo de execução
+@DisabledInNativeImage
 @WebMvcTest(PersonController.class)
 public class PersonControllerWithMockitoBeanTest {
 	
@@ -43,6 +77,8 @@ public class PersonControllerWithMockitoBeanTest {
 	
 	@MockitoBean
 	private PersonServices service;
+	@MockitoBean
+	private PersonIngestionService ingestion;
 	
 	private Person person;
 	private Person person1;
@@ -79,12 +115,239 @@ public class PersonControllerWithMockitoBeanTest {
 			.andExpect(jsonPath("$.address", is(person.getAddress())));
 	}
 	
+	@Test
+	@DisplayName("JUnit test Given Prefer Respond Async when Create Person then Return Accepted With Tracking Id")
+	void testGivenPreferRespondAsync_WhenCreatePerson_thenReturnAcceptedWithTrackingId() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		given(ingestion.submit(any(Person.class))).willReturn(Optional.of(
+				new PersonIngestionStatus("3f2c1d9e-8b7a-4c6d-9e5f-1a2b3c4d5e6f", PersonIngestionStatus.Status.QUEUED, null, person.getEmail(), null)));
+		
+		// When / Act
+		ResultActions response = mockMvc.perform(post("/person")
+				.header("Prefer", "respond-async")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(mapper.writeValueAsString(person)));
+				
+		// Then / Assert
+		response.andDo(print())
+			.andExpect(status().isAccepted())
+			.andExpect(header().string(HttpHeaders.LOCATION, containsString("/person/ingestion/3f2c1d9e-8b7a-4c6d-9e5f-1a2b3c4d5e6f")))
+			.andExpect(header().string("Preference-Applied", "respond-async"))
+			.andExpect(jsonPath("$.status", is("QUEUED")));
+		then(service).should(never()).create(any(Person.class));
+	}
+	
+	@Test
+	@DisplayName("JUnit test Given Several Preferences With Respond Async when Create Person then Return Accepted")
+	void testGivenSeveralPreferencesWithRespondAsync_WhenCreatePerson_thenReturnAccepted() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		given(ingestion.submit(any(Person.class))).willReturn(Optional.of(
+				new PersonIngestionStatus("3f2c1d9e-8b7a-4c6d-9e5f-1a2b3c4d5e6f", PersonIngestionStatus.Status.QUEUED, null, person.getEmail(), null)));
+		
+		// When / Act
+		ResultActions response = mockMvc.perform(post("/person")
+				.header("Prefer", "return=minimal, Respond-Async; foo=bar, wait=10")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(mapper.writeValueAsString(person)));
+				
+		// Then / Assert
+		response.andDo(print())
+			.andExpect(status().isAccepted())
+			.andExpect(header().string("Preference-Applied", "respond-async"));
+		then(service).should(never()).create(any(Person.class));
+	}
+	
+	@Test
+	@DisplayName("JUnit test Given Other Preferences when Create Person then Create Synchronously")
+	void testGivenOtherPreferences_WhenCreatePerson_thenCreateSynchronously() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		given(service.create(any(Person.class))).willAnswer((invocation) -> invocation.getArgument(0));
+		
+		// When / Act
+		ResultActions response = mockMvc.perform(post("/person")
+				.header("Prefer", "wait=10, respond-async-later")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(mapper.writeValueAsString(person)));
+				
+		// Then / Assert
+		response.andDo(print())
+			.andExpect(status().isOk())
+			.andExpect(header().doesNotExist("Preference-Applied"))
+			.andExpect(jsonPath("$.email", is(person.getEmail())));
+		then(ingestion).should(never()).submit(any(Person.class));
+	}
+	
+	@Test
+	@DisplayName("JUnit test Given Full Ingestion Queue when Create Person Async then Return Service Unavailable")
+	void testGivenFullIngestionQueue_WhenCreatePersonAsync_thenReturnServiceUnavailable() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		given(ingestion.submit(any(Person.class))).willReturn(Optional.empty());
+		
+		// When / Act
+		ResultActions response = mockMvc.perform(post("/person")
+				.header("Prefer", "respond-async")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(mapper.writeValueAsString(person)));
+				
+		// Then / Assert
+		response.andDo(print())
+			.andExpect(status().isServiceUnavailable())
+			.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+	}
+	
+	@Test
+	@DisplayName("JUnit test Given Tracking Id when Find Ingestion Status then Return Per Item Outcome")
+	void testGivenTrackingId_WhenFindIngestionStatus_thenReturnPerItemOutcome() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		String trackingId = "3f2c1d9e-8b7a-4c6d-9e5f-1a2b3c4d5e6f";
+		given(ingestion.findStatus(trackingId)).willReturn(Optional.of(new PersonIngestionStatus(trackingId,
+				PersonIngestionStatus.Status.DUPLICATED_EMAIL, null, person.getEmail(), "Email already exists: " + person.getEmail())));
+		
+		// When / Act
+		ResultActions response = mockMvc.perform(get("/person/ingestion/{trackingId}", trackingId));
+				
+		// Then / Assert
+		response.andDo(print())
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.status", is("DUPLICATED_EMAIL")))
+			.andExpect(jsonPath("$.email", is(person.getEmail())));
+	}
+	
+	@Test
+	@DisplayName("JUnit test Given Existing Email when Create Person then Return Conflict")
+	void testGivenExistingEmail_WhenCreatePerson_thenReturnConflict() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		given(service.create(any(Person.class))).willThrow(new ResourceDuplicatedEmailException("Email already exists: " + person.getEmail()));
+		
+		// When / Act
+		ResultActions response = mockMvc.perform(post("/person")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(mapper.writeValueAsString(person)));
+				
+		// Then / Assert
+		response.andDo(print())
+			.andExpect(status().isConflict())
+			.andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+			.andExpect(jsonPath("$.status", is(409)))
+			.andExpect(jsonPath("$.detail", is("Email already exists: " + person.getEmail())))
+			.andExpect(jsonPath("$.instance", is("/person")));
+	}
+	
+	@Test
+	@DisplayName("JUnit test Given Email of Another Person when Update Person then Return Conflict")
+	void testGivenEmailOfAnotherPerson_WhenUpdatePerson_thenReturnConflict() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		given(service.update(any(Person.class))).willThrow(new ResourceDuplicatedEmailException("Email already exists: " + person.getEmail()));
+		
+		// When / Act
+		ResultActions response = mockMvc.perform(put("/person")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(mapper.writeValueAsString(person)));
+				
+		// Then / Assert
+		response.andDo(print())
+			.andExpect(status().isConflict());
+	}
+	
+	@Test
+	@DisplayName("JUnit test Given Merge Patch when Patch Person then Return No Content")
+	void testGivenMergePatch_WhenPatchPerson_thenReturnNoContent() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		long personId = 1L;
+		willDoNothing().given(service).patch(eq(personId), anyMap());
+		
+		// When / Act
+		ResultActions response = mockMvc.perform(patch("/person/{id}", personId)
+				.contentType(PersonController.MERGE_PATCH_JSON_VALUE)
+				.content("{\"firstName\":\"Ciclano\"}"));
+				
+		// Then / Assert
+		response.andDo(print())
+			.andExpect(status().isNoContent());
+		then(service).should().patch(personId, Map.of("firstName", "Ciclano"));
+	}
+	
+	@Test
+	@DisplayName("JUnit test Given Unexistent Person when Patch Person then Return Not Found")
+	void testGivenUnexistentPerson_WhenPatchPerson_thenReturnNotFound() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		long personId = 1L;
+		willThrow(ResourceNotFoundException.PATCH).given(service).patch(eq(personId), anyMap());
+		
+		// When / Act
+		ResultActions response = mockMvc.perform(patch("/person/{id}", personId)
+				.contentType(PersonController.MERGE_PATCH_JSON_VALUE)
+				.content("{\"firstName\":\"Ciclano\"}"));
+				
+		// Then / Assert
+		response.andDo(print())
+			.andExpect(status().isNotFound());
+	}
+	
+	@Test
+	@DisplayName("JUnit test Given Current ETag when FindById then Return Not Modified Without Loading Person")
+	void testGivenCurrentETag_WhenFindById_thenReturnNotModifiedWithoutLoadingPerson() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		long personId = 1L;
+		given(service.findVersionById(personId)).willReturn(Optional.of(3L));
+		
+		// When / Act
+		ResultActions response = mockMvc.perform(get("/person/{id}", personId)
+				.header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+				
+		// Then / Assert
+		response.andDo(print())
+			.andExpect(status().isNotModified())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+		then(service).should(never()).findById(anyLong());
+	}
+	
+	@Test
+	@DisplayName("JUnit test Given Stale ETag when Update Person then Return Precondition Failed")
+	void testGivenStaleETag_WhenUpdatePerson_thenReturnPreconditionFailed() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		given(service.update(argThat(updated -> Long.valueOf(2L).equals(updated.getVersion()))))
+			.willThrow(new PreconditionFailedException("Person was modified by another request, current version: 3"));
+		
+		// When / Act
+		ResultActions response = mockMvc.perform(put("/person")
+				.header(HttpHeaders.IF_MATCH, "\"2\"")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(mapper.writeValueAsString(person)));
+				
+		// Then / Assert
+		response.andDo(print())
+			.andExpect(status().isPreconditionFailed());
+	}
+	
+	@Test
+	@DisplayName("JUnit test Given Persons Array when Create Batch then Return Per Item Results")
+	void testGivenPersonsArray_WhenCreateBatch_thenReturnPerItemResults() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		List<Person> persons = Arrays.asList(person, person1);
+		given(service.createAll(anyList())).willReturn(List.of(
+				new PersonBatchResult(0, PersonBatchResult.Status.CREATED, 1L, person.getEmail(), null),
+				new PersonBatchResult(1, PersonBatchResult.Status.DUPLICATED_EMAIL, null, person1.getEmail(), "Email already exists: " + person1.getEmail())));
+		
+		// When / Act
+		ResultActions response = mockMvc.perform(post("/person/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(mapper.writeValueAsString(persons)));
+		
+		// Then / Assert
+		response.andExpect(status().isOk())
+			.andDo(print())
+			.andExpect(jsonPath("$.size()", is(persons.size())))
+			.andExpect(jsonPath("$[0].status", is("CREATED")))
+			.andExpect(jsonPath("$[1].status", is("DUPLICATED_EMAIL")));
+	}
+	
 	@Test
 	@DisplayName("JUnit test Given of Persons when findAll Persons then Return Persons List")
 	void testGivenListOfPersons_WhenFindAllPersons_thenReturnPersonList() throws JsonProcessingException, Exception {
 		// Given / Arrange
 		List<Person> persons = Arrays.asList(person, person1);
-		given(service.findAll()).willReturn(persons);
+		given(service.findAll(any(), anyInt())).willReturn(persons);
 		
 		// When / Act
 		ResultActions response = mockMvc.perform(get("/person"));
@@ -94,13 +357,72 @@ public class PersonControllerWithMockitoBeanTest {
 			.andDo(print())
 			.andExpect(jsonPath("$.size()", is(persons.size())));
 	}
+	
+	@Test
+	@DisplayName("JUnit test Given Full Page when findAll Persons then Return Next Link")
+	void testGivenFullPage_WhenFindAllPersons_thenReturnNextLink() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		person.setId(1L);
+		person1.setId(2L);
+		List<Person> persons = Arrays.asList(person, person1);
+		given(service.findAll(isNull(), eq(2))).willReturn(persons);
+		
+		// When / Act
+		ResultActions response = mockMvc.perform(get("/person").param("limit", "2"));
+		
+		// Then / Assert
+		response.andExpect(status().isOk())
+			.andDo(print())
+			.andExpect(jsonPath("$.size()", is(persons.size())))
+			.andExpect(header().string("Link", containsString("after=2")));
+	}
+	
+	@Test
+	@DisplayName("JUnit test Given Unbounded Limit when findAll Persons then Cap Page Size")
+	void testGivenUnboundedLimit_WhenFindAllPersons_thenCapPageSize() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		given(service.findAll(isNull(), anyInt())).willReturn(List.of(person));
+		
+		// When / Act
+		ResultActions response = mockMvc.perform(get("/person").param("limit", "1000000"));
+		
+		// Then / Assert
+		response.andExpect(status().isOk())
+			.andDo(print())
+			.andExpect(header().doesNotExist("Link"));
+		then(service).should().findAll(isNull(), eq(1000));
+	}
+
+	@Test
+	@DisplayName("JUnit test when Export Persons then Stream NDJSON Body")
+	void testWhenExportPersons_thenStreamNdjsonBody() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		willAnswer(invocation -> {
+			OutputStream out = invocation.getArgument(0);
+			out.write((mapper.writeValueAsString(person) + "\n").getBytes());
+			return null;
+		}).given(service).exportAll(any(OutputStream.class));
+		
+		// When / Act
+		MvcResult result = mockMvc.perform(get("/person/export"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		ResultActions response = mockMvc.perform(asyncDispatch(result));
+		
+		// Then / Assert
+		response.andExpect(status().isOk())
+			.andDo(print())
+			.andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+			.andExpect(content().string(containsString(person.getEmail())));
+	}
 
 	@Test
 	@DisplayName("JUnit test Given Person ID when findById then Return Person Object")
 	void testGivenPersonId_WhenFindById_thenReturnPersonObject() throws JsonProcessingException, Exception {
 		// Given / Arrange
 		long personId = 1L;
-		given(service.findById(anyLong())).willReturn(person);
+		person.setVersion(3L);
+		given(service.findById(anyLong())).willReturn(Optional.of(person));
 		
 		// When / Act
 		ResultActions response = mockMvc.perform(get("/person/{id}", personId));
@@ -108,6 +430,7 @@ public class PersonControllerWithMockitoBeanTest {
 		// Then / Assert
 		response
 			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
 			.andDo(print())
 			.andExpect(jsonPath("$.firstName", is(person.getFirstName())))
 			.andExpect(jsonPath("$.lastName", is(person.getLastName())))
@@ -119,7 +442,7 @@ public class PersonControllerWithMockitoBeanTest {
 	void testGivenInvalidPersonId_WhenFindById_thenReturnNotFound() throws JsonProcessingException, Exception {
 		// Given / Arrange
 		long personId = 1L;
-		given(service.findById(personId)).willThrow(ResourceNotFoundException.class);
+		given(service.findById(personId)).willReturn(Optional.empty());
 		
 		// When / Act
 		ResultActions response = mockMvc.perform(get("/person/{id}", personId));
@@ -136,8 +459,8 @@ public class PersonControllerWithMockitoBeanTest {
 	void testGivenUpdatePerson_WhenUpdate_thenReturnPersonObjectUpdated() throws JsonProcessingException, Exception {
 		// Given / Arrange
 		long personId = 1L;
-		given(service.findById(personId)).willReturn(person);
-		given(service.update(any(Person.class))).willAnswer((invocation) -> invocation.getArgument(0));
+		given(service.findById(personId)).willReturn(Optional.of(person));
+		given(service.update(any(Person.class))).willAnswer((invocation) -> Optional.of(invocation.getArgument(0)));
 		
 		// When / Act
 		Person updatedPerson = new Person("Ciclano", "Araujo", "Recife - Pernambuco - Brasil", "Female", "ciclano@hotmail.com");
@@ -159,9 +482,7 @@ public class PersonControllerWithMockitoBeanTest {
 	@DisplayName("JUnit test Unexistent when Update then Return Person Object Updated")
 	void testUnexistentPerson_WhenUpdate_thenReturnNotFound() throws JsonProcessingException, Exception {
 		// Given / Arrange
-		long personId = 1L;
-		given(service.findById(personId)).willThrow(ResourceNotFoundException.class);
-		given(service.update(any(Person.class))).willAnswer((invocation) -> invocation.getArgument(1));
+		given(service.update(any(Person.class))).willReturn(Optional.empty());
 		
 		// When / Act
 		Person updatedPerson = new Person("Ciclano", "Araujo", "Recife - Pernambuco - Brasil", "Female", "ciclano@hotmail.com");
@@ -191,4 +512,146 @@ public class PersonControllerWithMockitoBeanTest {
 		.andExpect(status().isNoContent())
 		.andDo(print());
 	}
+	
+	@Test
+	@DisplayName("JUnit test Given Person Ids when Delete All then Return Deleted Count")
+	void testGivenPersonIds_WhenDeleteAll_thenReturnDeletedCount() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		given(service.deleteAll(List.of(1L, 2L, 3L))).willReturn(2);
+		
+		// When / Act
+		ResultActions response = mockMvc.perform(delete("/person").param("ids", "1,2,3"));
+		
+		// Then / Assert
+		response.andDo(print())
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.deleted", is(2)));
+	}
+	
+	@Test
+	@DisplayName("JUnit test Given Fields when FindAll Persons then Return Only Requested Properties")
+	void testGivenFields_WhenFindAllPersons_thenReturnOnlyRequestedProperties() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		Map<String, Object> row = new LinkedHashMap<>();
+		row.put("id", 1L);
+		row.put("email", person.getEmail());
+		given(service.findAll(isNull(), anyInt(), eq(List.of("id", "email")))).willReturn(List.of(row));
+		
+		// When / Act
+		ResultActions response = mockMvc.perform(get("/person").param("fields", "id,email"));
+		
+		// Then / Assert
+		response.andDo(print())
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$[0].id", is(1)))
+			.andExpect(jsonPath("$[0].email", is(person.getEmail())))
+			.andExpect(jsonPath("$[0].firstName").doesNotExist())
+			.andExpect(jsonPath("$[0].version").doesNotExist());
+	}
+	
+	@Test
+	@DisplayName("JUnit test Given Unknown Field when FindById then Return Bad Request")
+	void testGivenUnknownField_WhenFindById_thenReturnBadRequest() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		long personId = 1L;
+		given(service.findById(personId, List.of("password"))).willThrow(new InvalidRequestException("Unknown field: password"));
+		
+		// When / Act
+		ResultActions response = mockMvc.perform(get("/person/{id}", personId).param("fields", "password"));
+		
+		// Then / Assert
+		response.andDo(print())
+			.andExpect(status().isBadRequest())
+			.andExpect(header().doesNotExist(HttpHeaders.ETAG));
+	}
+	
+	@Test
+	@DisplayName("JUnit test Given Search Filters when Search Persons then Return Matching Persons")
+	void testGivenSearchFilters_WhenSearchPersons_thenReturnMatchingPersons() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		given(service.search(eq("ful"), isNull(), eq("Male"), isNull(), anyInt())).willReturn(List.of(person));
+		
+		// When / Act
+		ResultActions response = mockMvc.perform(get("/person/search").param("name", "ful").param("gender", "Male"));
+		
+		// Then / Assert
+		response.andDo(print())
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.size()", is(1)))
+			.andExpect(jsonPath("$[0].email", is(person.getEmail())))
+			.andExpect(header().doesNotExist(HttpHeaders.LINK));
+	}
+	
+	@Test
+	@DisplayName("JUnit test Given Smile Body and Accept when Create Person then Return Smile Person")
+	void testGivenSmileBodyAndAccept_WhenCreatePerson_thenReturnSmilePerson() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+		given(service.create(any(Person.class))).willAnswer((invocation) -> invocation.getArgument(0));
+		
+		// When / Act
+		ResultActions response = mockMvc.perform(post("/person")
+				.contentType(PersonController.SMILE_VALUE)
+				.accept(PersonController.SMILE_VALUE)
+				.content(smileMapper.writeValueAsBytes(person)));
+		
+		// Then / Assert
+		MvcResult result = response.andDo(print())
+			.andExpect(status().isOk())
+			.andExpect(content().contentType(PersonController.SMILE_VALUE))
+			.andReturn();
+		Person created = smileMapper.readValue(result.getResponse().getContentAsByteArray(), Person.class);
+		assertEquals(person.getEmail(), created.getEmail());
+		assertEquals(person.getFirstName(), created.getFirstName());
+	}
+	
+	@Test
+	@DisplayName("JUnit test Given No Accept when FindById then Return Json")
+	void testGivenNoAccept_WhenFindById_thenReturnJson() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		long personId = 1L;
+		given(service.findById(personId)).willReturn(Optional.of(person));
+		
+		// When / Act
+		ResultActions response = mockMvc.perform(get("/person/{id}", personId));
+		
+		// Then / Assert
+		response.andDo(print())
+			.andExpect(status().isOk())
+			.andExpect(content().contentType(MediaType.APPLICATION_JSON));
+	}
+	
+	@Test
+	@DisplayName("JUnit test Given Database Failure when FindById then Return Internal Server Error")
+	void testGivenDatabaseFailure_WhenFindById_thenReturnInternalServerError() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		long personId = 1L;
+		given(service.findById(personId)).willThrow(new CannotCreateTransactionException("Connection refused"));
+		
+		// When / Act
+		ResultActions response = mockMvc.perform(get("/person/{id}", personId));
+		
+		// Then / Assert
+		response.andDo(print())
+			.andExpect(status().isInternalServerError())
+			.andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON));
+	}
+	
+	@Test
+	@DisplayName("JUnit test Given Unexistent Person when FindById then Return Not Found Problem")
+	void testGivenUnexistentPerson_WhenFindById_thenReturnNotFoundProblem() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		long personId = 1L;
+		given(service.findById(personId)).willReturn(Optional.empty());
+		
+		// When / Act
+		ResultActions response = mockMvc.perform(get("/person/{id}", personId));
+		
+		// Then / Assert
+		response.andDo(print())
+			.andExpect(status().isNotFound())
+			.andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+			.andExpect(jsonPath("$.detail", is("No records found for this ID for find")))
+			.andExpect(jsonPath("$.instance", is("/person/1")));
+	}
 }
@@ -0,0 +1,114 @@
+package br.com.adriano.controllers;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import br.com.adriano.exceptions.ResourceDuplicatedEmailException;
+import br.com.adriano.exceptions.ResourceNotFoundException;
+import br.com.adriano.models.Person;
+import br.com.adriano.services.ReactivePersonServices;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// No executável nativo (profile nativeTest) o Mockito não consegue gerar as classes dos mocks em tempo de execução
+@DisabledInNativeImage
+@WebFluxTest(ReactivePersonController.class)
+@ActiveProfiles("reactive")
+class ReactivePersonControllerTest {
+	
+	@Autowired
+	private WebTestClient webClient;
+	
+	@MockitoBean
+	private ReactivePersonServices service;
+	
+	private Person person;
+	private Person person1;
+
+	@BeforeEach
+	void setUp() {
+		// Given / Arrange
+		person = new Person(1L, "Fulano", "Santana", "Rua 1", "Male", "fulano@gmail.com");
+		person1 = new Person(2L, "Ciclano", "Araujo", "Recife - Pernambuco - Brasil", "Female", "ciclano@hotmail.com");
+	}
+	
+	@Test
+	@DisplayName("JUnit test Given Full Page when findAll Persons then Return Persons and Next Link")
+	void testGivenFullPage_WhenFindAllPersons_thenReturnPersonsAndNextLink() {
+		// Given / Arrange
+		given(service.findAll(any(), anyInt())).willReturn(Flux.just(person, person1));
+		
+		// When / Act / Then / Assert
+		webClient.get().uri("/person?limit=2")
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().valueMatches("Link", ".*after=2.*rel=\"next\"")
+			.expectBody()
+				.jsonPath("$.size()").isEqualTo(2)
+				.jsonPath("$[0].firstName").isEqualTo(person.getFirstName());
+	}
+	
+	@Test
+	@DisplayName("JUnit test when Export Persons then Stream NDJSON")
+	void testWhenExportPersons_thenStreamNdjson() {
+		// Given / Arrange
+		given(service.streamAll()).willReturn(Flux.just(person, person1));
+		
+		// When / Act / Then / Assert
+		webClient.get().uri("/person/export")
+			.accept(MediaType.APPLICATION_NDJSON)
+			.exchange()
+			.expectStatus().isOk()
+			.expectBodyList(Person.class).hasSize(2);
+	}
+	
+	@Test
+	@DisplayName("JUnit test Given Invalid Person ID when findById then Return Not Found")
+	void testGivenInvalidPersonId_WhenFindById_thenReturnNotFound() {
+		// Given / Arrange
+		given(service.findById(1L)).willReturn(Mono.error(new ResourceNotFoundException("No records found for this ID for find")));
+		
+		// When / Act / Then / Assert
+		webClient.get().uri("/person/{id}", 1L)
+			.exchange()
+			.expectStatus().isNotFound();
+	}
+	
+	@Test
+	@DisplayName("JUnit test Given Existing Email when Create Person then Return Conflict")
+	void testGivenExistingEmail_WhenCreatePerson_thenReturnConflict() {
+		// Given / Arrange
+		given(service.create(any(Person.class))).willReturn(Mono.error(new ResourceDuplicatedEmailException("Email already exists: " + person.getEmail())));
+		
+		// When / Act / Then / Assert
+		webClient.post().uri("/person")
+			.contentType(MediaType.APPLICATION_JSON)
+			.bodyValue(person)
+			.exchange()
+			.expectStatus().isEqualTo(409);
+	}
+	
+	@Test
+	@DisplayName("JUnit test Given Person Id when Delete then Return No Content")
+	void testGivenPersonId_WhenDelete_thenReturnNoContent() {
+		// Given / Arrange
+		given(service.delete(1L)).willReturn(Mono.empty());
+		
+		// When / Act / Then / Assert
+		webClient.delete().uri("/person/{id}", 1L)
+			.exchange()
+			.expectStatus().isNoContent();
+	}
+}
@@ -0,0 +1,133 @@
+package br.com.adriano.integrationtests.controllers;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import br.com.adriano.config.TestConfig;
+import br.com.adriano.integrationtests.testcontainers.AbstractReplicaIntegrationTest;
+import br.com.adriano.models.Person;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.filter.log.LogDetail;
+import io.restassured.filter.log.RequestLoggingFilter;
+import io.restassured.filter.log.ResponseLoggingFilter;
+import io.restassured.specification.RequestSpecification;
+
+// A pessoa criada só existe no primário: 200 significa que a leitura foi para o primário, 404 que foi para a réplica
+@TestMethodOrder(OrderAnnotation.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PersonReplicaRoutingIntegrationTest extends AbstractReplicaIntegrationTest {
+
+	private static Long id;
+	
+	@LocalServerPort
+	private int port;
+	
+	private RequestSpecification specification;
+	
+	@BeforeEach
+	void setUp() {
+		// Given / Arrange
+		specification = new RequestSpecBuilder()
+				.setBasePath("/person")
+				.setPort(port)
+				.addFilter(new RequestLoggingFilter(LogDetail.ALL))
+				.addFilter(new ResponseLoggingFilter(LogDetail.ALL))
+				.build();
+	}
+	
+	@Test
+	@Order(1)
+	@DisplayName("JUnit integration Test Given Person Object when Create Should Write to Primary")
+	void integrationTestGivenPersonObject_when_Create_ShouldWriteToPrimary() {
+		
+		id = given().spec(specification)
+				.header("X-API-Key", "writer")
+				.contentType(TestConfig.CONTENT_TYPE_JSON)
+				.body(new Person("Fulano", "da Silva", "Patos - Paraiba - Brasil", "Male", "fulano@gmail.com"))
+				.when()
+					.post()
+				.then()
+					.statusCode(200)
+						.extract()
+							.jsonPath()
+								.getLong("id");
+		
+		assertNotNull(id);
+	}
+	
+	@Test
+	@Order(2)
+	@DisplayName("JUnit integration Test Given Own Recent Write when Read Only Query Should Read from Primary")
+	void integrationTestGivenOwnRecentWrite_when_ReadOnlyQuery_ShouldReadFromPrimary() {
+		
+		var email = given().spec(specification)
+				.header("X-API-Key", "writer")
+				.pathParam("id", id)
+				.queryParam("fields", "email")
+				.when()
+					.get("{id}")
+				.then()
+					.statusCode(200)
+						.extract()
+							.jsonPath()
+								.getString("email");
+		
+		assertEquals("fulano@gmail.com", email);
+	}
+	
+	@Test
+	@Order(3)
+	@DisplayName("JUnit integration Test Given Other Client when Read Only Query Should Read from Replica")
+	void integrationTestGivenOtherClient_when_ReadOnlyQuery_ShouldReadFromReplica() {
+		
+		given().spec(specification)
+				.header("X-API-Key", "reader")
+				.pathParam("id", id)
+				.queryParam("fields", "email")
+				.when()
+					.get("{id}")
+				.then()
+					.statusCode(404);
+	}
+	
+	@Test
+	@Order(4)
+	@DisplayName("JUnit integration Test Given Other Client and Current ETag when FindById Should Check Version on Primary")
+	void integrationTestGivenOtherClientAndCurrentETag_when_FindById_ShouldCheckVersionOnPrimary() {
+		
+		// A réplica não tem a pessoa: 304 só sai se a versão foi conferida no primário (a pessoa ainda não está no cache)
+		given().spec(specification)
+				.header("X-API-Key", "reader")
+				.header("If-None-Match", "\"0\"")
+				.pathParam("id", id)
+				.when()
+					.get("{id}")
+				.then()
+					.statusCode(304);
+	}
+	
+	@Test
+	@Order(5)
+	@DisplayName("JUnit integration Test Given Other Client when FindById Should Read from Primary")
+	void integrationTestGivenOtherClient_when_FindById_ShouldReadFromPrimary() {
+		
+		// O findById alimenta o cache compartilhado, por isso lê sempre do primário
+		given().spec(specification)
+				.header("X-API-Key", "reader")
+				.pathParam("id", id)
+				.when()
+					.get("{id}")
+				.then()
+					.statusCode(200);
+	}
+}
@@ -0,0 +1,47 @@
+package br.com.adriano.integrationtests.startup;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.adriano.integrationtests.testcontainers.AbstractIntegrationTest;
+
+// Sobe pelo Startup.main, como em produção, para gravar a subida: o StartupTimelineReporter loga o tempo por etapa e
+// pelos beans mais lentos na saída do build, e o profile ci grava a linha do tempo inteira em person.startup.timeline-file
+@ActiveProfiles("ci")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, useMainMethod = SpringBootTest.UseMainMethod.ALWAYS)
+class StartupTimelineIntegrationTest extends AbstractIntegrationTest {
+
+	@Autowired
+	private ConfigurableApplicationContext context;
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Value("${person.startup.timeline-file}")
+	private String timelineFile;
+
+	@Test
+	@DisplayName("JUnit integration Test Given Main Method Startup when Ready Should Write Timeline")
+	void integrationTestGivenMainMethodStartup_when_Ready_ShouldWriteTimeline() throws IOException {
+
+		assertInstanceOf(BufferingApplicationStartup.class, context.getApplicationStartup());
+
+		JsonNode events = mapper.readTree(Path.of(timelineFile).toFile()).path("timeline").path("events");
+		assertTrue(events.size() > 0);
+		assertTrue(events.findValuesAsText("name").contains("spring.beans.instantiate"));
+	}
+}
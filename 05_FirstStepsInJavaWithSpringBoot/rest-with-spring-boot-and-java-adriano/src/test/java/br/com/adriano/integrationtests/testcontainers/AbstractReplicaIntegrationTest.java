@@ -0,0 +1,59 @@
+package br.com.adriano.integrationtests.testcontainers;
+
+import java.util.Map;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+// Dois PostgreSQL independentes, primário e "réplica", sem replicação entre eles: o que é gravado no primário
+// não aparece na réplica, então a resposta mostra de qual banco cada leitura veio.
+// Fora do AOT: o ReadReplicaConfig depende de person.datasource.replicas.urls (@ConditionalOnProperty), que o
+// processamento AOT decide no build, quando ainda não existe o container da réplica nem a sua URL
+@DisabledInAotMode
+@ContextConfiguration(initializers = { AbstractReplicaIntegrationTest.Initializer.class })
+public class AbstractReplicaIntegrationTest {
+
+	static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+		static PostgreSQLContainer<?> primaryContainer = new PostgreSQLContainer<>("pgvector/pgvector:pg16");
+		static PostgreSQLContainer<?> replicaContainer = new PostgreSQLContainer<>("pgvector/pgvector:pg16");
+		
+		private static void startContainers() {
+			primaryContainer.start();
+			replicaContainer.start();
+			
+			// O esquema chegaria à réplica pela replicação; aqui ela é migrada à parte
+			Flyway.configure()
+					.dataSource(replicaContainer.getJdbcUrl(), replicaContainer.getUsername(), replicaContainer.getPassword())
+					.configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+					.load()
+					.migrate();
+		}
+		
+		private static Map<String, String> createConnectionConfiguration() {
+			return Map.of(
+					"spring.datasource.url", primaryContainer.getJdbcUrl(),
+					"spring.datasource.username", primaryContainer.getUsername(),
+					"spring.datasource.password", primaryContainer.getPassword(),
+					"person.datasource.replicas.urls", replicaContainer.getJdbcUrl(),
+					// Os testes separam quem escreveu de quem só lê pela API key
+					"person.rate-limit.api-keys", "writer,reader"
+			);
+		}
+		
+		@Override
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		public void initialize(ConfigurableApplicationContext applicationContext) {
+			startContainers();
+			ConfigurableEnvironment environment = applicationContext.getEnvironment();
+			MapPropertySource testContainer = new MapPropertySource("testcontainers", (Map)createConnectionConfiguration());
+			environment.getPropertySources().addFirst(testContainer);
+		}
+	}
+}
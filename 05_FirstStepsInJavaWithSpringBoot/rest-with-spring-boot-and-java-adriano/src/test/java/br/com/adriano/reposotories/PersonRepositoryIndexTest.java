@@ -0,0 +1,185 @@
+package br.com.adriano.reposotories;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import br.com.adriano.integrationtests.testcontainers.AbstractIntegrationTest;
+import br.com.adriano.models.Person;
+import jakarta.persistence.EntityManager;
+
+// Confere, com EXPLAIN, que o SQL gerado por cada consulta do PersonRepository usa um índice.
+// Com poucas linhas o PostgreSQL prefere Seq Scan, por isso enable_seqscan é desligado na transação do teste:
+// se ainda assim aparecer um Seq Scan é porque nenhum índice atende a consulta
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=br.com.adriano.reposotories.PersonRepositoryIndexTest$SqlRecorder")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PersonRepositoryIndexTest extends AbstractIntegrationTest {
+
+	@Autowired
+	private PersonRepository repository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private Person person;
+
+	@BeforeEach
+	void setUp() {
+		// Given / Arrange
+		person = repository.saveAndFlush(new Person("Fulano", "da Silva", "Patos - Paraiba - Brasil", "Male", "fulano@gmail.com"));
+		entityManager.clear();
+		entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+		entityManager.createNativeQuery("SET LOCAL plan_cache_mode = force_generic_plan").executeUpdate();
+		SqlRecorder.STATEMENTS.clear();
+	}
+
+	@DisplayName("Given FindById when Explain then Use Index Scan")
+	@Test
+	void testGivenFindById_whenExplain_thenUseIndexScan() {
+		assertIndexScan(explain(() -> repository.findById(person.getId())));
+	}
+
+	@DisplayName("Given FindVersionById when Explain then Use Index Scan")
+	@Test
+	void testGivenFindVersionById_whenExplain_thenUseIndexScan() {
+		assertIndexScan(explain(() -> repository.findVersionById(person.getId())));
+	}
+
+	@DisplayName("Given FindFieldsById when Explain then Use Index Scan")
+	@Test
+	void testGivenFindFieldsById_whenExplain_thenUseIndexScan() {
+		assertIndexScan(explain(() -> repository.findFieldsById(List.of("id", "email"), person.getId())));
+	}
+
+	@DisplayName("Given Keyset Page of Fields when Explain then Use Index Scan")
+	@Test
+	void testGivenKeysetPageOfFields_whenExplain_thenUseIndexScan() {
+		assertIndexScan(explain(() -> repository.findFieldsByIdGreaterThan(List.of("id", "email"), 0L, 50)));
+	}
+
+	@DisplayName("Given FindByEmail when Explain then Use Index Scan")
+	@Test
+	void testGivenFindByEmail_whenExplain_thenUseIndexScan() {
+		assertIndexScan(explain(() -> repository.findByEmail(person.getEmail())));
+	}
+
+	@DisplayName("Given FindExistingEmails when Explain then Use Index Scan")
+	@Test
+	void testGivenFindExistingEmails_whenExplain_thenUseIndexScan() {
+		assertIndexScan(explain(() -> repository.findExistingEmails(List.of(person.getEmail(), "ciclano@gmail.com"))));
+	}
+
+	@DisplayName("Given Keyset Page when Explain then Use Index Scan")
+	@Test
+	void testGivenKeysetPage_whenExplain_thenUseIndexScan() {
+		assertIndexScan(explain(() -> repository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(50))));
+	}
+
+	@DisplayName("Given StreamAll when Explain then Use Index Scan")
+	@Test
+	void testGivenStreamAll_whenExplain_thenUseIndexScan() {
+		assertIndexScan(explain(() -> {
+			try (Stream<Person> persons = repository.streamAll()) {
+				persons.forEach(entityManager::detach);
+			}
+		}));
+	}
+
+	@DisplayName("Given Name Prefix Search when Explain then Use Index Scan")
+	@Test
+	void testGivenNamePrefixSearch_whenExplain_thenUseIndexScan() {
+		// LIKE só usa o índice quando o prefixo é conhecido no planejamento: o plano genérico de "LIKE $1" é sempre
+		// Seq Scan, por isso o PostgreSQL mantém planos customizados para esta consulta. O teste faz o mesmo
+		entityManager.createNativeQuery("SET LOCAL plan_cache_mode = force_custom_plan").executeUpdate();
+		assertIndexScan(explain(() -> repository.findBy(PersonSpecifications.nameStartsWith("ful"), query -> query.all()), "'ful%'", "'ful%'"));
+	}
+
+	@DisplayName("Given Email Search when Explain then Use Index Scan")
+	@Test
+	void testGivenEmailSearch_whenExplain_thenUseIndexScan() {
+		assertIndexScan(explain(() -> repository.findBy(PersonSpecifications.emailEqualsIgnoreCase("FULANO@gmail.com"), query -> query.all())));
+	}
+
+	@DisplayName("Given FindByJPQL when Explain then Use Index Scan")
+	@Test
+	void testGivenFindByJPQL_whenExplain_thenUseIndexScan() {
+		assertIndexScan(explain(() -> repository.findByJPQL(person.getFirstName(), person.getLastName())));
+	}
+
+	@DisplayName("Given FindByJPQLNamedParam when Explain then Use Index Scan")
+	@Test
+	void testGivenFindByJPQLNamedParam_whenExplain_thenUseIndexScan() {
+		assertIndexScan(explain(() -> repository.findByJPQLNamedParam(person.getEmail())));
+	}
+
+	@DisplayName("Given FindByNativeSQL when Explain then Use Index Scan")
+	@Test
+	void testGivenFindByNativeSQL_whenExplain_thenUseIndexScan() {
+		assertIndexScan(explain(() -> repository.findByNativeSQL(person.getFirstName(), person.getLastName())));
+	}
+
+	@DisplayName("Given FindByNativeSQLNamedParam when Explain then Use Index Scan")
+	@Test
+	void testGivenFindByNativeSQLNamedParam_whenExplain_thenUseIndexScan() {
+		assertIndexScan(explain(() -> repository.findByNativeSQLNamedParam(person.getEmail())));
+	}
+
+	// Executa a consulta, pega o SQL que o Hibernate enviou e pede o plano genérico dele: os parâmetros
+	// viram $1, $2... num PREPARE e, com plan_cache_mode=force_generic_plan, os NULLs do EXECUTE não influenciam o plano.
+	// Com values, o EXECUTE recebe esses literais no lugar dos NULLs
+	@SuppressWarnings("unchecked")
+	private String explain(Runnable query, String... values) {
+		query.run();
+		assertFalse(SqlRecorder.STATEMENTS.isEmpty(), "Nenhum SQL foi executado");
+		String sql = SqlRecorder.STATEMENTS.get(SqlRecorder.STATEMENTS.size() - 1);
+
+		StringBuilder parameterized = new StringBuilder();
+		List<String> arguments = new ArrayList<>();
+		for (char c : sql.toCharArray()) {
+			if (c == '?') {
+				arguments.add(arguments.size() < values.length ? values[arguments.size()] : "NULL");
+				parameterized.append('$').append(arguments.size());
+			} else {
+				parameterized.append(c);
+			}
+		}
+
+		entityManager.createNativeQuery("PREPARE person_query AS " + parameterized).executeUpdate();
+		List<String> plan = entityManager.createNativeQuery("EXPLAIN EXECUTE person_query"
+				+ (arguments.isEmpty() ? "" : "(" + String.join(", ", arguments) + ")")).getResultList();
+		entityManager.createNativeQuery("DEALLOCATE person_query").executeUpdate();
+		return plan.stream().collect(Collectors.joining("\n", sql + "\n", ""));
+	}
+
+	private void assertIndexScan(String plan) {
+		assertFalse(plan.contains("Seq Scan"), plan);
+		assertTrue(plan.contains("Index Scan") || plan.contains("Index Only Scan"), plan);
+	}
+
+	// Registrado no Hibernate pela propriedade hibernate.session_factory.statement_inspector
+	public static class SqlRecorder implements StatementInspector {
+		private static final long serialVersionUID = 1L;
+
+		static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			STATEMENTS.add(sql);
+			return sql;
+		}
+	}
+}
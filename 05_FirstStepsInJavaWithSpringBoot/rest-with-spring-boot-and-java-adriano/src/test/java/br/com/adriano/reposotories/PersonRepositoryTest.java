@@ -14,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 
 import br.com.adriano.integrationtests.testcontainers.AbstractIntegrationTest;
 import br.com.adriano.models.Person;
@@ -96,6 +97,25 @@ class PersonRepositoryTest extends AbstractIntegrationTest {
 	    assertEquals(2, persons.size());
 	}
 	
+	// Verifica se a paginação por keyset retorna a página seguinte ao cursor, em ordem de ID.
+	@DisplayName("Given Cursor when FindByIdGreaterThan then Return Next Page")
+	@Test
+	void testGivenCursor_whenFindByIdGreaterThan_thenReturnNextPage() {
+	    // Given / Arrange
+	    Person first = repository.save(person);
+	    Person second = repository.save(person1);
+
+	    // When / Act
+	    List<Person> firstPage = repository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1));
+	    List<Person> nextPage = repository.findByIdGreaterThanOrderByIdAsc(first.getId(), Limit.of(1));
+
+	    // Then / Assert
+	    assertEquals(1, firstPage.size());
+	    assertEquals(first.getId(), firstPage.get(0).getId());
+	    assertEquals(1, nextPage.size());
+	    assertEquals(second.getId(), nextPage.get(0).getId());
+	}
+	
 	// Verifica se uma pessoa pode ser atualizada corretamente.
 	@DisplayName("Given Updated Person when Save then Return Updated Person")
 	@Test
@@ -131,6 +151,47 @@ class PersonRepositoryTest extends AbstractIntegrationTest {
 	    assertFalse(deletedPerson.isPresent());
 	}
 	
+	// Garante que a remoção em massa apaga só os ids existentes, num único DELETE.
+	@DisplayName("Given PersonIds when RemoveAllByIds then Return Removed Count")
+	@Test
+	void testGivenPersonIds_whenRemoveAllByIds_thenReturnRemovedCount() {
+	    // Given / Arrange
+	    Person savedPerson = repository.save(person);
+	    Person savedPerson1 = repository.save(person1);
+	    repository.flush();
+
+	    // When / Act
+	    int removed = repository.removeAllByIds(new Long[] { savedPerson.getId(), savedPerson1.getId(), -1L });
+
+	    // Then / Assert
+	    assertEquals(2, removed);
+	    assertEquals(0, repository.removeById(savedPerson.getId()));
+	}
+	
+	// Verifica se os filtros da busca se combinam e ignoram maiúsculas, tratando "%" e "_" como texto.
+	@DisplayName("Given Search Filters when FindBy Specification then Return Matching Persons")
+	@Test
+	void testGivenSearchFilters_whenFindBySpecification_thenReturnMatchingPersons() {
+	    // Given / Arrange
+	    repository.save(person);
+	    repository.save(person1);
+	    repository.save(new Person("Maria", "Silveira", "Recife - Pernambuco - Brasil", "Female", "maria@gmail.com"));
+	    
+	    // When / Act
+	    List<Person> byName = repository.findBy(PersonSpecifications.nameStartsWith("SIL"), query -> query.all());
+	    List<Person> byNameAndGender = repository.findBy(PersonSpecifications.nameStartsWith("sil")
+	    		.and(PersonSpecifications.genderEqualsIgnoreCase("male")), query -> query.all());
+	    List<Person> byEmail = repository.findBy(PersonSpecifications.emailEqualsIgnoreCase("Ciclano@Gmail.com"), query -> query.all());
+	    List<Person> byWildcard = repository.findBy(PersonSpecifications.nameStartsWith("%"), query -> query.all());
+	    
+	    // Then / Assert
+	    assertEquals(1, byName.size());
+	    assertEquals("Maria", byName.get(0).getFirstName());
+	    assertTrue(byNameAndGender.isEmpty());
+	    assertEquals(person1.getId(), byEmail.get(0).getId());
+	    assertTrue(byWildcard.isEmpty());
+	}
+	
 	// Verifica se a consulta personalizada JPQL funciona corretamente.
 	@DisplayName("Given PersonName when FindByJPQL then Return Person")
 	@Test
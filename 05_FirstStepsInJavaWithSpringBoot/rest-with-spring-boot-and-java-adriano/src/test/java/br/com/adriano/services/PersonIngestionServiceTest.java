@@ -0,0 +1,152 @@
+package br.com.adriano.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import br.com.adriano.exceptions.ResourceDuplicatedEmailException;
+import br.com.adriano.models.Person;
+import br.com.adriano.models.PersonBatchResult;
+import br.com.adriano.models.PersonIngestionStatus;
+import br.com.adriano.services.PersonIngestionService.Pending;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// No executável nativo (profile nativeTest) o Mockito não consegue gerar as classes dos mocks em tempo de execução
+@DisabledInNativeImage
+class PersonIngestionServiceTest {
+
+	private final PersonServices services = mock(PersonServices.class);
+	private PersonIngestionService ingestion;
+
+	@AfterEach
+	void tearDown() {
+		if (ingestion != null) {
+			ingestion.stop();
+		}
+	}
+
+	@DisplayName("JUnit test Given Queued Persons when Drain then Write One Batch With Per Item Status")
+	@Test
+	void testGivenQueuedPersons_whenDrain_thenWriteOneBatchWithPerItemStatus() {
+		// Given / Arrange
+		given(services.createAll(anyList())).willReturn(List.of(
+				new PersonBatchResult(0, PersonBatchResult.Status.CREATED, 1L, "leandro@gmail.com", null),
+				new PersonBatchResult(1, PersonBatchResult.Status.DUPLICATED_EMAIL, null, "leandro@gmail.com", "Email already exists: leandro@gmail.com"),
+				new PersonBatchResult(2, PersonBatchResult.Status.CREATED, 2L, "gabriela@gmail.com", null)));
+		ingestion = newIngestion(10, 500, Duration.ofSeconds(1));
+		ingestion.start();
+		
+		// When / Act
+		String created = ingestion.submit(person("leandro@gmail.com")).orElseThrow().getTrackingId();
+		String duplicated = ingestion.submit(person("leandro@gmail.com")).orElseThrow().getTrackingId();
+		ingestion.submit(person("gabriela@gmail.com"));
+		ingestion.stop();
+		
+		// Then / Assert
+		then(services).should(times(1)).createAll(anyList());
+		PersonIngestionStatus createdStatus = ingestion.findStatus(created).orElseThrow();
+		assertEquals(PersonIngestionStatus.Status.CREATED, createdStatus.getStatus());
+		assertEquals(1L, createdStatus.getId());
+		assertEquals(PersonIngestionStatus.Status.DUPLICATED_EMAIL, ingestion.findStatus(duplicated).orElseThrow().getStatus());
+	}
+
+	@DisplayName("JUnit test Given Full Queue when Submit then Return Empty")
+	@Test
+	void testGivenFullQueue_whenSubmit_thenReturnEmpty() throws InterruptedException {
+		// Given / Arrange
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		given(services.createAll(anyList())).willAnswer(invocation -> {
+			writing.countDown();
+			release.await();
+			return List.of(new PersonBatchResult(0, PersonBatchResult.Status.CREATED, 1L, "leandro@gmail.com", null));
+		});
+		ingestion = newIngestion(1, 1, Duration.ZERO);
+		ingestion.start();
+		ingestion.submit(person("leandro@gmail.com"));
+		assertTrue(writing.await(5, TimeUnit.SECONDS));
+		
+		// When / Act
+		boolean queued = ingestion.submit(person("gabriela@gmail.com")).isPresent();
+		boolean rejected = ingestion.submit(person("fulano@gmail.com")).isEmpty();
+		release.countDown();
+		
+		// Then / Assert
+		assertTrue(queued);
+		assertTrue(rejected);
+	}
+
+	@DisplayName("JUnit test Given Concurrent Duplicate when Write Batch then Write One by One")
+	@Test
+	void testGivenConcurrentDuplicate_whenWriteBatch_thenWriteOneByOne() {
+		// Given / Arrange
+		Person leandro = person("leandro@gmail.com");
+		Person gabriela = person("gabriela@gmail.com");
+		given(services.createAll(anyList())).willThrow(new ResourceDuplicatedEmailException("Email already exists: inserted concurrently by another request"));
+		given(services.create(leandro)).willThrow(new ResourceDuplicatedEmailException("Email already exists: leandro@gmail.com"));
+		given(services.create(gabriela)).willAnswer(invocation -> {
+			gabriela.setId(2L);
+			return gabriela;
+		});
+		ingestion = newIngestion(10, 500, Duration.ZERO);
+		
+		// When / Act
+		ingestion.write(List.of(new Pending("a", leandro), new Pending("b", gabriela)));
+		
+		// Then / Assert
+		assertEquals(PersonIngestionStatus.Status.DUPLICATED_EMAIL, ingestion.findStatus("a").orElseThrow().getStatus());
+		assertEquals(PersonIngestionStatus.Status.CREATED, ingestion.findStatus("b").orElseThrow().getStatus());
+		assertEquals(2L, ingestion.findStatus("b").orElseThrow().getId());
+	}
+
+	@DisplayName("JUnit test Given Invalid Person in Batch when Write Batch then Fail Only That Person")
+	@Test
+	void testGivenInvalidPersonInBatch_whenWriteBatch_thenFailOnlyThatPerson() {
+		// Given / Arrange
+		Person leandro = person("leandro@gmail.com");
+		Person invalid = person("gabriela@gmail.com");
+		invalid.setGender("Feminino");
+		given(services.createAll(anyList())).willThrow(new DataIntegrityViolationException("ERROR: value too long for type character varying(6)"));
+		given(services.create(leandro)).willAnswer(invocation -> {
+			leandro.setId(1L);
+			return leandro;
+		});
+		given(services.create(invalid)).willThrow(new DataIntegrityViolationException("ERROR: value too long for type character varying(6)"));
+		ingestion = newIngestion(10, 500, Duration.ZERO);
+		
+		// When / Act
+		ingestion.write(List.of(new Pending("a", leandro), new Pending("b", invalid)));
+		
+		// Then / Assert
+		assertEquals(PersonIngestionStatus.Status.CREATED, ingestion.findStatus("a").orElseThrow().getStatus());
+		assertEquals(1L, ingestion.findStatus("a").orElseThrow().getId());
+		PersonIngestionStatus failed = ingestion.findStatus("b").orElseThrow();
+		assertEquals(PersonIngestionStatus.Status.FAILED, failed.getStatus());
+		assertFalse(failed.getMessage().contains("character varying"));
+	}
+
+	private PersonIngestionService newIngestion(int queueCapacity, int batchSize, Duration linger) {
+		return new PersonIngestionService(services, queueCapacity, batchSize, linger, Duration.ofMinutes(10), 1000,
+				new SimpleMeterRegistry());
+	}
+
+	private static Person person(String email) {
+		return new Person("Leandro", "Costa", "Uberlândia - Minas Gerais - Brasil", "Male", email);
+	}
+}
@@ -2,37 +2,80 @@ package br.com.adriano.services;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.*;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.SQLException;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.adriano.exceptions.InvalidRequestException;
+import br.com.adriano.exceptions.PreconditionFailedException;
 import br.com.adriano.exceptions.ResourceDuplicatedEmailException;
+import br.com.adriano.exceptions.ResourceNotFoundException;
 import br.com.adriano.models.Person;
+import br.com.adriano.models.PersonBatchResult;
 import br.com.adriano.reposotories.PersonRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
 
+// No executável nativo (profile nativeTest) o Mockito não consegue gerar as classes dos mocks em tempo de execução
+@DisabledInNativeImage
 @ExtendWith(MockitoExtension.class)
 public class PersonServicesTest {
 
 	@Mock
 	private PersonRepository repository;
 	
+	@Mock
+	private EntityManager entityManager;
+	
+	@Mock
+	private CacheManager cacheManager;
+	
+	@Spy
+	private ObjectMapper mapper = new ObjectMapper();
+	
 	@InjectMocks
 	private PersonServices services;
 	
@@ -56,8 +99,7 @@ public class PersonServicesTest {
 	@Test
 	void testGivenPersonObject_whenSavePerson_thenReturnPersonObject() {
 		// Given / Arrange
-		given(repository.findByEmail(anyString())).willReturn(Optional.empty());
-		given(repository.save(person)).willReturn(person);
+		given(repository.saveAndFlush(person)).willReturn(person);
 		
 		// When / Act
 		Person savedPerson = services.create(person);
@@ -75,7 +117,7 @@ public class PersonServicesTest {
     @Test
     void testGivenExistingEmail_whenCreate_thenThrowResourceDuplicatedEmailException() {
 		// Given / Arrange
-		given(repository.findByEmail(person.getEmail())).willReturn(Optional.of(person));
+		given(repository.saveAndFlush(person)).willThrow(emailUniqueViolation());
 
 		// When / Act
 		ResourceDuplicatedEmailException exception = assertThrows(
@@ -86,7 +128,55 @@ public class PersonServicesTest {
 		
 		// Then / Assert
 		assertEquals("Email already exists: " + person.getEmail(), exception.getMessage());
-        verify(repository, never()).save(any(Person.class)); // Garante que o save não foi chamado
+        verify(repository, never()).findByEmail(anyString()); // Garante que não houve SELECT antes do INSERT
+	}
+	
+	@DisplayName("JUnit test Given Other Integrity Violation when Create then Rethrow Original Exception")
+	@Test
+	void testGivenOtherIntegrityViolation_whenCreate_thenRethrowOriginalException() {
+		// Given / Arrange
+		DataIntegrityViolationException violation = new DataIntegrityViolationException("not-null",
+				new ConstraintViolationException("not-null", new SQLException("not-null", "23502"), "person_first_name_not_null"));
+		given(repository.saveAndFlush(person)).willThrow(violation);
+		
+		// When / Act
+		DataIntegrityViolationException exception = assertThrows(
+				DataIntegrityViolationException.class,
+				() -> services.create(person));
+		
+		// Then / Assert
+		assertSame(violation, exception);
+	}
+	
+	@DisplayName("JUnit test Given Persons Batch with Duplicated Emails when CreateAll then Return Per Item Results")
+	@Test
+	void testGivenPersonsBatchWithDuplicatedEmails_whenCreateAll_thenReturnPerItemResults() {
+		// Given / Arrange
+		Person duplicatedInBatch = new Person("Beltrano", "Souza", "Rua 2", "Male", person.getEmail());
+		Person alreadySaved = new Person("Joana", "Lima", "Rua 3", "Female", "joana@gmail.com");
+		given(repository.findExistingEmails(anyList())).willReturn(Set.of(alreadySaved.getEmail()));
+		given(repository.saveAll(anyList())).willAnswer(invocation -> {
+			List<Person> persons = invocation.getArgument(0);
+			long id = 1L;
+			for (Person saved : persons) {
+				saved.setId(id++);
+			}
+			return persons;
+		});
+		
+		// When / Act
+		List<PersonBatchResult> results = services.createAll(List.of(person, duplicatedInBatch, alreadySaved, person1));
+		
+		// Then / Assert
+		assertEquals(4, results.size());
+		assertEquals(PersonBatchResult.Status.CREATED, results.get(0).getStatus());
+		assertEquals(1L, results.get(0).getId());
+		assertEquals(PersonBatchResult.Status.DUPLICATED_EMAIL, results.get(1).getStatus());
+		assertEquals(PersonBatchResult.Status.DUPLICATED_EMAIL, results.get(2).getStatus());
+		assertEquals(PersonBatchResult.Status.CREATED, results.get(3).getStatus());
+		assertEquals(2L, results.get(3).getId());
+		verify(repository, times(1)).findExistingEmails(anyList());
+		verify(repository, never()).findByEmail(anyString());
 	}
 	
 	@DisplayName("JUnit test Given Persons List when FindAll Persons then Return Person List")
@@ -117,6 +207,39 @@ public class PersonServicesTest {
 		assertEquals(0, personsList.size());
 	}
 	
+	@DisplayName("JUnit test Given No Cursor when FindAll Page then Seek From First Id")
+	@Test
+	void testGivenNoCursor_whenFindAllPage_thenSeekFromFirstId() {
+		// Given / Arrange
+		given(repository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2))).willReturn(List.of(person, person1));
+		
+		// When / Act
+		List<Person> personsList = services.findAll(null, 2);
+		
+		// Then / Assert
+		assertEquals(2, personsList.size());
+		verify(repository, never()).findAll();
+	}
+	
+	@DisplayName("JUnit test Given Persons Stream when Export All then Write One Line Per Person and Detach")
+	@Test
+	void testGivenPersonsStream_whenExportAll_thenWriteOneLinePerPersonAndDetach() throws IOException {
+		// Given / Arrange
+		given(repository.streamAll()).willReturn(Stream.of(person, person1));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		
+		// When / Act
+		services.exportAll(out);
+		
+		// Then / Assert
+		String[] lines = out.toString().split("\n");
+		assertEquals(2, lines.length);
+		assertEquals(person.getEmail(), mapper.readValue(lines[0], Person.class).getEmail());
+		assertEquals(person1.getEmail(), mapper.readValue(lines[1], Person.class).getEmail());
+		verify(entityManager).detach(person);
+		verify(entityManager).detach(person1);
+	}
+	
 	@DisplayName("JUnit test for a given person id when findaById then return person object")
 	@Test
 	void testGivenPersonId_whenFindById_thenReturnPersonObject() {
@@ -124,7 +247,7 @@ public class PersonServicesTest {
 		given(repository.findById(anyLong())).willReturn(Optional.of(person));
 		
 		// When / Act
-		Person savedPerson = services.findById(1L);
+		Person savedPerson = services.findById(1L).orElseThrow();
 		
 		// Then / Assert
 		assertNotNull(savedPerson);
@@ -144,10 +267,10 @@ public class PersonServicesTest {
 		person.setAddress("Recife - Pernambuco - Brasil");
 		person.setEmail("ciclano@hotmail.com");
 		
-		given(repository.save(person)).willReturn(person);
+		given(repository.saveAndFlush(person)).willReturn(person);
 		
 		// When / Act
-		Person updatePerson = services.update(person);
+		Person updatePerson = services.update(person).orElseThrow();
 		
 		// Then / Assert
 		assertNotNull(updatePerson);
@@ -158,18 +281,253 @@ public class PersonServicesTest {
 		assertEquals(person.getEmail(), updatePerson.getEmail());
 	}
 	
+	@DisplayName("JUnit test Given Stale Version when Update Person then Throw PreconditionFailedException")
+	@Test
+	void testGivenStaleVersion_whenUpdatePerson_thenThrowPreconditionFailedException() {
+		// Given / Arrange
+		Person saved = new Person(1L, "Fulano", "Santana", "Rua 1", "Male", "fulano@gmail.com");
+		saved.setVersion(3L);
+		person.setId(1L);
+		person.setVersion(2L);
+		given(repository.findById(1L)).willReturn(Optional.of(saved));
+		
+		// When / Act / Then / Assert
+		assertThrows(PreconditionFailedException.class, () -> services.update(person));
+		verify(repository, never()).saveAndFlush(any(Person.class));
+	}
+	
+	@DisplayName("JUnit test Given Cached Person when FindVersionById then Skip Database")
+	@Test
+	void testGivenCachedPerson_whenFindVersionById_thenSkipDatabase() {
+		// Given / Arrange
+		Cache personCache = mock(Cache.class);
+		person.setId(1L);
+		person.setVersion(4L);
+		given(cacheManager.getCache("person")).willReturn(personCache);
+		given(personCache.get(1L, Person.class)).willReturn(person);
+		
+		// When / Act
+		Optional<Long> version = services.findVersionById(1L);
+		
+		// Then / Assert
+		assertEquals(Optional.of(4L), version);
+		verify(repository, never()).findVersionById(anyLong());
+	}
+	
+	@DisplayName("JUnit test Given Email of Another Person when Update Person then Throw ResourceDuplicatedEmailException")
+	@Test
+	void testGivenEmailOfAnotherPerson_whenUpdatePerson_thenThrowResourceDuplicatedEmailException() {
+		// Given / Arrange
+		Person saved = new Person(1L, "Fulano", "Santana", "Rua 1", "Male", "fulano@gmail.com");
+		person.setId(1L);
+		person.setEmail(person1.getEmail());
+		given(repository.findById(1L)).willReturn(Optional.of(saved));
+		given(repository.saveAndFlush(saved)).willThrow(emailUniqueViolation());
+		
+		// When / Act
+		ResourceDuplicatedEmailException exception = assertThrows(
+				ResourceDuplicatedEmailException.class,
+				() -> services.update(person));
+		
+		// Then / Assert
+		assertEquals("Email already exists: " + person1.getEmail(), exception.getMessage());
+	}
+	
+	@DisplayName("JUnit test Given Partial Person when Patch Person then Update Only Sent Fields")
+	@Test
+	@SuppressWarnings("unchecked")
+	void testGivenPartialPerson_whenPatchPerson_thenUpdateOnlySentFields() {
+		// Given / Arrange
+		CriteriaBuilder builder = mock(CriteriaBuilder.class);
+		CriteriaUpdate<Person> update = mock(CriteriaUpdate.class);
+		Root<Person> root = mock(Root.class);
+		Path<Object> firstName = mock(Path.class);
+		Query query = mock(Query.class);
+		given(entityManager.getCriteriaBuilder()).willReturn(builder);
+		given(builder.createCriteriaUpdate(Person.class)).willReturn(update);
+		given(update.from(Person.class)).willReturn(root);
+		given(root.get("firstName")).willReturn(firstName);
+		given(entityManager.createQuery(update)).willReturn(query);
+		given(query.executeUpdate()).willReturn(1);
+		
+		// When / Act
+		services.patch(1L, Map.of("firstName", "Ciclano"));
+		
+		// Then / Assert
+		verify(update).set(firstName, "Ciclano");
+		verify(update, times(1)).set(any(Path.class), any(Object.class));
+		verify(repository, never()).findById(anyLong());
+	}
+	
+	@DisplayName("JUnit test Given Unexistent Id when Patch Person then Throw ResourceNotFoundException")
+	@Test
+	@SuppressWarnings("unchecked")
+	void testGivenUnexistentId_whenPatchPerson_thenThrowResourceNotFoundException() {
+		// Given / Arrange
+		CriteriaBuilder builder = mock(CriteriaBuilder.class);
+		CriteriaUpdate<Person> update = mock(CriteriaUpdate.class);
+		Query query = mock(Query.class);
+		given(entityManager.getCriteriaBuilder()).willReturn(builder);
+		given(builder.createCriteriaUpdate(Person.class)).willReturn(update);
+		given(update.from(Person.class)).willReturn(mock(Root.class));
+		given(entityManager.createQuery(update)).willReturn(query);
+		given(query.executeUpdate()).willReturn(0);
+		
+		// When / Act / Then / Assert
+		assertThrows(ResourceNotFoundException.class, () -> services.patch(99L, Map.of("address", "Rua 2")));
+	}
+	
+	@DisplayName("JUnit test Given Null or Unknown Field when Patch Person then Throw InvalidRequestException")
+	@Test
+	void testGivenNullOrUnknownField_whenPatchPerson_thenThrowInvalidRequestException() {
+		// Given / Arrange
+		Map<String, Object> nullField = new HashMap<>();
+		nullField.put("lastName", null);
+		
+		// When / Act / Then / Assert
+		assertThrows(InvalidRequestException.class, () -> services.patch(1L, nullField));
+		assertThrows(InvalidRequestException.class, () -> services.patch(1L, Map.of("id", "2")));
+		verify(entityManager, never()).getCriteriaBuilder();
+	}
+	
 	@DisplayName("JUnit test Given Person ID when Delete Person then do Nothing")
 	@Test
 	void testGivenPersonID_whenDeletePerson_thenDoNothing() {
 		// Given / Arrange
 		person.setId(1L);
-		given(repository.findById(anyLong())).willReturn(Optional.of(person));
-		willDoNothing().given(repository).delete(person);
+		given(repository.removeById(person.getId())).willReturn(1);
 		
 		// When / Act
 		services.delete(person.getId());
 		
 		// Then / Assert
-		verify(repository, times(1)).delete(person);
+		verify(repository, times(1)).removeById(person.getId());
+		verify(repository, never()).findById(anyLong());
+	}
+	
+	@DisplayName("JUnit test Given Unexistent Person ID when Delete Person then Throw ResourceNotFoundException")
+	@Test
+	void testGivenUnexistentPersonID_whenDeletePerson_thenThrowResourceNotFoundException() {
+		// Given / Arrange
+		given(repository.removeById(99L)).willReturn(0);
+		
+		// When / Act / Then / Assert
+		assertThrows(ResourceNotFoundException.class, () -> services.delete(99L));
+	}
+	
+	@DisplayName("JUnit test Given Person IDs when Delete All then Remove in One Statement and Evict Ids")
+	@Test
+	void testGivenPersonIDs_whenDeleteAll_thenRemoveInOneStatementAndEvictIds() {
+		// Given / Arrange
+		Cache personCache = mock(Cache.class);
+		given(repository.removeAllByIds(new Long[] { 1L, 2L, 3L })).willReturn(2);
+		given(cacheManager.getCache("person")).willReturn(personCache);
+		
+		// When / Act
+		int deleted = services.deleteAll(List.of(1L, 2L, 3L));
+		
+		// Then / Assert
+		assertEquals(2, deleted);
+		verify(repository, times(1)).removeAllByIds(any(Long[].class));
+		verify(personCache).evict(1L);
+		verify(personCache).evict(3L);
+	}
+	
+	// Mesma cadeia de exceções que o Spring Data produz quando o PostgreSQL rejeita o índice único de email
+	private DataIntegrityViolationException emailUniqueViolation() {
+		SQLException sqlException = new SQLException("duplicate key value violates unique constraint", "23505");
+		return new DataIntegrityViolationException("duplicate key",
+				new ConstraintViolationException("duplicate key", sqlException, Person.EMAIL_UNIQUE_CONSTRAINT));
+	}
+	
+	@DisplayName("JUnit test Given Fields when FindById with Fields then Project Id and Fields in Entity Order")
+	@Test
+	void testGivenFields_whenFindByIdWithFields_thenProjectIdAndFieldsInEntityOrder() {
+		// Given / Arrange
+		given(repository.findFieldsById(anyCollection(), eq(1L))).willReturn(Optional.of(Map.of("id", 1L, "email", person.getEmail())));
+		
+		// When / Act
+		Map<String, Object> row = services.findById(1L, List.of("email", "firstName")).orElseThrow();
+		
+		// Then / Assert
+		assertEquals(person.getEmail(), row.get("email"));
+		verify(repository).findFieldsById(List.of("id", "firstName", "email"), 1L);
+	}
+	
+	@DisplayName("JUnit test Given Unknown Field when FindAll with Fields then Throw InvalidRequestException")
+	@Test
+	void testGivenUnknownField_whenFindAllWithFields_thenThrowInvalidRequestException() {
+		// When / Act
+		InvalidRequestException exception = assertThrows(
+				InvalidRequestException.class,
+				() -> services.findAll(null, 10, List.of("id", "password")));
+		
+		// Then / Assert
+		assertEquals("Unknown field: password", exception.getMessage());
+		verify(repository, never()).findFieldsByIdGreaterThan(anyCollection(), anyLong(), anyInt());
+	}
+	
+	@DisplayName("JUnit test Given Search Filters when Search then Query by Specification with Limit")
+	@Test
+	@SuppressWarnings("unchecked")
+	void testGivenSearchFilters_whenSearch_thenQueryBySpecificationWithLimit() {
+		// Given / Arrange
+		FetchableFluentQuery<Person> query = mock(FetchableFluentQuery.class);
+		given(query.sortBy(any())).willReturn(query);
+		given(query.limit(10)).willReturn(query);
+		given(query.all()).willReturn(List.of(person));
+		given(repository.findBy(any(Specification.class), any())).willAnswer(
+				invocation -> invocation.<Function<FetchableFluentQuery<Person>, List<Person>>>getArgument(1).apply(query));
+		
+		// When / Act
+		List<Person> persons = services.search("ful", " ", null, null, 10);
+		
+		// Then / Assert
+		assertEquals(List.of(person), persons);
+		verify(query).sortBy(Sort.by("id"));
+	}
+	
+	@DisplayName("JUnit test Given Unexistent Person when FindById then Return Empty")
+	@Test
+	void testGivenUnexistentPerson_whenFindById_thenReturnEmpty() {
+		// Given / Arrange
+		given(repository.findById(anyLong())).willReturn(Optional.empty());
+		
+		// When / Act
+		Optional<Person> found = services.findById(1L);
+		
+		// Then / Assert
+		assertTrue(found.isEmpty());
+	}
+	
+	@DisplayName("JUnit test Given Unexistent Person when Update then Return Empty Without Saving")
+	@Test
+	void testGivenUnexistentPerson_whenUpdate_thenReturnEmptyWithoutSaving() {
+		// Given / Arrange
+		person.setId(99L);
+		given(repository.findById(99L)).willReturn(Optional.empty());
+		
+		// When / Act
+		Optional<Person> updated = services.update(person);
+		
+		// Then / Assert
+		assertTrue(updated.isEmpty());
+		verify(repository, never()).saveAndFlush(any(Person.class));
+	}
+	
+	@DisplayName("JUnit test Given Unexistent Person when Delete then Throw Shared Stackless Exception")
+	@Test
+	void testGivenUnexistentPerson_whenDelete_thenThrowSharedStacklessException() {
+		// Given / Arrange
+		given(repository.removeById(anyLong())).willReturn(0);
+		
+		// When / Act
+		ResourceNotFoundException first = assertThrows(ResourceNotFoundException.class, () -> services.delete(1L));
+		ResourceNotFoundException second = assertThrows(ResourceNotFoundException.class, () -> services.delete(2L));
+		
+		// Then / Assert
+		assertSame(first, second);
+		assertEquals(0, first.getStackTrace().length);
+		assertEquals("No records found for this ID for delete", first.getMessage());
 	}
 }
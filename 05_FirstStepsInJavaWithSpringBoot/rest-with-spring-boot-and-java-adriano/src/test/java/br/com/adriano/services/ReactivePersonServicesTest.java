@@ -0,0 +1,93 @@
+package br.com.adriano.services;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+
+import br.com.adriano.exceptions.ResourceDuplicatedEmailException;
+import br.com.adriano.exceptions.ResourceNotFoundException;
+import br.com.adriano.models.Person;
+import br.com.adriano.reposotories.ReactivePersonRepository;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+// No executável nativo (profile nativeTest) o Mockito não consegue gerar as classes dos mocks em tempo de execução
+@DisabledInNativeImage
+@ExtendWith(MockitoExtension.class)
+class ReactivePersonServicesTest {
+
+	@Mock
+	private ReactivePersonRepository repository;
+	
+	@InjectMocks
+	private ReactivePersonServices services;
+	
+	private Person person;
+	
+	@BeforeEach
+	void setUp() {
+		// Given / Arrange
+		person = new Person("Fulano", "Santana", "Rua 1", "Male", "fulano@gmail.com");
+	}
+	
+	@DisplayName("JUnit test Given New Email when Create then Insert Person")
+	@Test
+	void testGivenNewEmail_whenCreate_thenInsertPerson() {
+		// Given / Arrange
+		Person saved = new Person(1L, "Fulano", "Santana", "Rua 1", "Male", "fulano@gmail.com");
+		given(repository.insert(person)).willReturn(Mono.just(saved));
+		
+		// When / Act / Then / Assert
+		StepVerifier.create(services.create(person))
+			.expectNext(saved)
+			.verifyComplete();
+	}
+	
+	@DisplayName("JUnit test Given Existing Email when Create then Error ResourceDuplicatedEmailException")
+	@Test
+	void testGivenExistingEmail_whenCreate_thenErrorResourceDuplicatedEmailException() {
+		// Given / Arrange
+		given(repository.insert(person)).willReturn(Mono.error(new DuplicateKeyException("uk_person_email")));
+		
+		// When / Act / Then / Assert
+		StepVerifier.create(services.create(person))
+			.expectError(ResourceDuplicatedEmailException.class)
+			.verify();
+		verify(repository, never()).findByEmail(any(String.class));
+	}
+	
+	@DisplayName("JUnit test Given Unexistent Id when FindById then Error ResourceNotFoundException")
+	@Test
+	void testGivenUnexistentId_whenFindById_thenErrorResourceNotFoundException() {
+		// Given / Arrange
+		given(repository.findById(1L)).willReturn(Mono.empty());
+		
+		// When / Act / Then / Assert
+		StepVerifier.create(services.findById(1L))
+			.expectError(ResourceNotFoundException.class)
+			.verify();
+	}
+	
+	@DisplayName("JUnit test Given No Row Deleted when Delete then Error ResourceNotFoundException")
+	@Test
+	void testGivenNoRowDeleted_whenDelete_thenErrorResourceNotFoundException() {
+		// Given / Arrange
+		given(repository.deleteById(1L)).willReturn(Mono.just(0L));
+		
+		// When / Act / Then / Assert
+		StepVerifier.create(services.delete(1L))
+			.expectError(ResourceNotFoundException.class)
+			.verify();
+	}
+}